@@ -0,0 +1,200 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.GerenciadorClientesApplication;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cenário de carga que compara o atendimento das requisições pelo pool de threads de
+ * plataforma do Tomcat com o modo de threads virtuais ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * Para cada modo a aplicação sobe em uma porta livre, com H2 em memória e uma massa de
+ * clientes, e recebe {@code carga.concorrencia} clientes HTTP em laço fechado alternando
+ * {@code GET /clientes/{id}} e {@code GET /clientes?ordenarPor=nome}. São medidas a vazão e as
+ * latências p50/p99, e as ocorrências de thread virtual presa ao carrier (evento JFR
+ * {@code jdk.VirtualThreadPinned}) agrupadas pelo primeiro frame fora do JDK.
+ * <p>
+ * {@code mvn -Pcarga -DskipTests verify [-Dcarga.concorrencia=400 -Dcarga.duracao=20]}
+ */
+public class CargaComparativa {
+
+    private static final int CONCORRENCIA = Integer.getInteger("carga.concorrencia", 400);
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(Integer.getInteger("carga.aquecimento", 5));
+    private static final Duration DURACAO = Duration.ofSeconds(Integer.getInteger("carga.duracao", 20));
+    private static final int QUANTIDADE_CLIENTES = 1000;
+
+    record Resultado(String modo, long requisicoes, long erros, double vazao, double p50Ms, double p99Ms,
+                     double maximoMs, long pinagens, Map<String, Long> pinagensPorFrame) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Resultado> resultados = List.of(executar(false), executar(true));
+
+        System.out.printf("%nConcorrência: %d, duração: %ds (aquecimento: %ds)%n",
+                CONCORRENCIA, DURACAO.toSeconds(), AQUECIMENTO.toSeconds());
+        System.out.printf("%-12s %12s %8s %12s %10s %10s %10s %10s%n",
+                "modo", "requisições", "erros", "req/s", "p50 (ms)", "p99 (ms)", "máx (ms)", "pinagens");
+        for (Resultado r : resultados) {
+            System.out.printf("%-12s %12d %8d %12.1f %10.2f %10.2f %10.2f %10d%n",
+                    r.modo(), r.requisicoes(), r.erros(), r.vazao(), r.p50Ms(), r.p99Ms(), r.maximoMs(), r.pinagens());
+            r.pinagensPorFrame().forEach((frame, total) -> System.out.printf("    pinagem em %s: %d%n", frame, total));
+        }
+
+        File saida = new File(System.getProperty("carga.saida", "target/carga-comparativa.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(saida, resultados);
+        System.out.println("Resultados gravados em " + saida.getAbsolutePath());
+    }
+
+    private static Resultado executar(boolean threadsVirtuais) throws Exception {
+        String modo = threadsVirtuais ? "virtual" : "plataforma";
+        // Argumentos de linha de comando têm precedência sobre o application.properties
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GerenciadorClientesApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN")) {
+            List<Long> ids = popular(contexto.getBean(ClienteRepository.class));
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+
+            Map<String, Long> pinagensPorFrame = new ConcurrentHashMap<>();
+            AtomicLong pinagens = new AtomicLong();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+                 RecordingStream jfr = new RecordingStream()) {
+                jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+                jfr.onEvent("jdk.VirtualThreadPinned", evento -> {
+                    // Desconsidera as threads do próprio gerador de carga (apenas frames do JDK)
+                    if (evento.getStackTrace() == null) {
+                        return;
+                    }
+                    evento.getStackTrace().getFrames().stream()
+                            .map(CargaComparativa::descrever)
+                            .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                            .findFirst()
+                            .ifPresent(frame -> {
+                                pinagens.incrementAndGet();
+                                pinagensPorFrame.merge(frame, 1L, Long::sum);
+                            });
+                });
+
+                carregar(executor, http, base, ids, AQUECIMENTO);
+                jfr.startAsync();
+                long[][] latencias = carregar(executor, http, base, ids, DURACAO);
+                jfr.stop();
+
+                return resumir(modo, latencias, pinagens.get(), maisFrequentes(pinagensPorFrame));
+            }
+        }
+    }
+
+    private static List<Long> popular(ClienteRepository clienteRepository) {
+        List<Cliente> clientes = new ArrayList<>(QUANTIDADE_CLIENTES);
+        for (int i = 0; i < QUANTIDADE_CLIENTES; i++) {
+            Cliente cliente = Dados.cliente(i, 2);
+            cliente.setId(null);
+            cliente.getEnderecos().forEach(endereco -> endereco.setId(null));
+            clientes.add(cliente);
+        }
+        return clienteRepository.saveAll(clientes).stream().map(Cliente::getId).toList();
+    }
+
+    // Cada cliente de carga envia uma requisição por vez até o fim do período (laço fechado).
+    // Devolve, por cliente de carga, as latências em nanossegundos; erros são marcados com valor negativo
+    private static long[][] carregar(ExecutorService executor, HttpClient http, String base, List<Long> ids,
+                                     Duration duracao) throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+        List<Future<long[]>> tarefas = new ArrayList<>(CONCORRENCIA);
+        for (int c = 0; c < CONCORRENCIA; c++) {
+            tarefas.add(executor.submit(() -> {
+                long[] latencias = new long[1024];
+                int total = 0;
+                while (System.nanoTime() < fim) {
+                    String caminho = total % 2 == 0
+                            ? "/clientes/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()))
+                            : "/clientes?ordenarPor=nome&tamanho=20";
+                    HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + caminho)).GET().build();
+                    long inicio = System.nanoTime();
+                    boolean sucesso;
+                    try {
+                        sucesso = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (IOException e) {
+                        sucesso = false;
+                    }
+                    long latencia = System.nanoTime() - inicio;
+                    if (total == latencias.length) {
+                        latencias = Arrays.copyOf(latencias, total * 2);
+                    }
+                    latencias[total++] = sucesso ? latencia : -latencia;
+                }
+                return Arrays.copyOf(latencias, total);
+            }));
+        }
+        long[][] resultado = new long[CONCORRENCIA][];
+        for (int c = 0; c < CONCORRENCIA; c++) {
+            resultado[c] = tarefas.get(c).get();
+        }
+        return resultado;
+    }
+
+    private static Resultado resumir(String modo, long[][] latencias, long pinagens, Map<String, Long> pinagensPorFrame) {
+        long erros = 0;
+        long[] todas = Arrays.stream(latencias).flatMapToLong(Arrays::stream).toArray();
+        for (int i = 0; i < todas.length; i++) {
+            if (todas[i] < 0) {
+                erros++;
+                todas[i] = -todas[i];
+            }
+        }
+        Arrays.sort(todas);
+        return new Resultado(modo, todas.length, erros, todas.length / (double) DURACAO.toSeconds(),
+                percentil(todas, 0.50), percentil(todas, 0.99), todas.length == 0 ? 0 : todas[todas.length - 1] / 1e6,
+                pinagens, pinagensPorFrame);
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        return ordenadas[(int) Math.ceil(percentil * ordenadas.length) - 1] / 1e6;
+    }
+
+    private static Map<String, Long> maisFrequentes(Map<String, Long> pinagensPorFrame) {
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        pinagensPorFrame.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(5)
+                .forEach(entrada -> resultado.put(entrada.getKey(), entrada.getValue()));
+        return resultado;
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
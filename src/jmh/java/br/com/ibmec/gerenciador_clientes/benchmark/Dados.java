@@ -0,0 +1,42 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados usada pelos benchmarks.
+ */
+final class Dados {
+
+    private Dados() {
+    }
+
+    static Cliente cliente(long id, int quantidadeEnderecos) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome("Cliente Benchmark " + id);
+        cliente.setEmail("cliente" + id + "@example.com");
+        cliente.setCpf(12345678900L + id);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1).plusDays(id % 3650));
+        cliente.setTelefone(11912345678L);
+        List<Endereco> enderecos = new ArrayList<>();
+        for (int i = 0; i < quantidadeEnderecos; i++) {
+            enderecos.add(new Endereco(id * 10 + i, "Rua Benchmark " + i, String.valueOf(100 + i), "Centro",
+                    "São Paulo", "SP", 1001000, cliente));
+        }
+        cliente.setEnderecos(enderecos);
+        return cliente;
+    }
+
+    static List<Cliente> clientes(int quantidade, int enderecosPorCliente) {
+        List<Cliente> clientes = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            clientes.add(cliente(i, enderecosPorCliente));
+        }
+        return clientes;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.exception.ApiError;
+import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
+import br.com.ibmec.gerenciador_clientes.exception.GlobalExceptionHandler;
+import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de erro esperado (404/409): criação da exceção de domínio e montagem
+ * do corpo {@link ApiError} pelo {@link GlobalExceptionHandler}. naoEncontradoSerializado
+ * inclui a escrita do corpo em JSON, como na resposta HTTP.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErroBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private long id;
+
+    @Setup
+    public void setup() {
+        handler = new GlobalExceptionHandler(Clock.systemDefaultZone());
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = new MockHttpServletRequest("GET", "/clientes/42");
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> naoEncontrado() {
+        return handler.handleResourceNotFound(
+                new ResourceNotFoundException("Cliente não encontrado com o ID: " + (++id)), request);
+    }
+
+    @Benchmark
+    public byte[] naoEncontradoSerializado() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleResourceNotFound(
+                new ResourceNotFoundException("Cliente não encontrado com o ID: " + (++id)), request).getBody());
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> duplicado() {
+        return handler.handleDuplicateResource(
+                new DuplicateResourceException("Email já cadastrado: cliente" + (++id) + "@example.com"), request);
+    }
+}
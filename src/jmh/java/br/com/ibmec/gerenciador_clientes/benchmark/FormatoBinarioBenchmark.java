@@ -0,0 +1,85 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteJsonSerializer;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificação e decodificação de uma página de clientes com endereços em JSON, CBOR e Smile,
+ * com a mesma configuração dos conversores da aplicação (JacksonConfig). A codificação parte
+ * das entidades, como a listagem de /clientes; a decodificação lê a página como ClienteDTO,
+ * como os jobs que consomem a API. O tamanho do corpo de cada formato é impresso no início.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatoBinarioBenchmark {
+
+    private static final TypeReference<Pagina<ClienteDTO>> PAGINA_DTO = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Pagina<Cliente> pagina;
+    private byte[] corpo;
+    private ByteArrayOutputStream saida;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonFactory factory = switch (formato) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .serializers(new ClienteJsonSerializer())
+                .build();
+        pagina = new Pagina<>(Dados.clientes(tamanhoPagina, 2), "cursor");
+        corpo = objectMapper.writeValueAsBytes(pagina);
+        saida = new ByteArrayOutputStream(64 * 1024);
+        System.out.printf("%nTamanho do corpo (%s, %d clientes): %d bytes%n", formato, tamanhoPagina, corpo.length);
+    }
+
+    @Benchmark
+    public int codificar() throws IOException {
+        saida.reset();
+        objectMapper.writeValue(saida, pagina);
+        return saida.size();
+    }
+
+    @Benchmark
+    public Pagina<ClienteDTO> decodificar() throws IOException {
+        return objectMapper.readValue(corpo, PAGINA_DTO);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da conversão Cliente <-> ClienteDTO (com três endereços):
+ * ModelMapper (reflexão em tempo de execução, como era antes) contra o MapStruct gerado.
+ * Rode com o profiler de GC (já ativo no profile jmh) para comparar alocações por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeamentoBenchmark {
+
+    private ModelMapper modelMapper;
+    private ClienteMapper clienteMapper;
+    private Cliente cliente;
+    private ClienteDTO clienteDTO;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+        cliente = Dados.cliente(1L, 3);
+        clienteDTO = clienteMapper.toDTO(cliente);
+        // Aquece o cache de TypeMaps do ModelMapper, como aconteceria após as primeiras requisições
+        modelMapper.map(cliente, ClienteDTO.class);
+        modelMapper.map(clienteDTO, Cliente.class);
+    }
+
+    @Benchmark
+    public ClienteDTO modelMapperParaDTO() {
+        return modelMapper.map(cliente, ClienteDTO.class);
+    }
+
+    @Benchmark
+    public ClienteDTO mapStructParaDTO() {
+        return clienteMapper.toDTO(cliente);
+    }
+
+    @Benchmark
+    public Cliente modelMapperParaEntidade() {
+        return modelMapper.map(clienteDTO, Cliente.class);
+    }
+
+    @Benchmark
+    public Cliente mapStructParaEntidade() {
+        return clienteMapper.toEntity(clienteDTO);
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteJsonSerializer;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de uma página de clientes com endereços, com o mesmo
+ * ObjectMapper que o Spring MVC usa (JavaTimeModule, datas como texto).
+ * paginaComDTO e paginaStreaming medem o trabalho de uma requisição de listagem a partir
+ * das entidades da página: conversão para ClienteDTO e serialização, contra a escrita direta
+ * pelo ClienteJsonSerializer; rode com o profiler de GC para ver a alocação por requisição.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper objectMapperStreaming;
+    private ClienteMapper clienteMapper;
+    private List<Cliente> entidades;
+    private List<ClienteDTO> clientes;
+    private ByteArrayOutputStream saida;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // Mesma configuração da aplicação: ClienteJsonSerializer e pool compartilhado de buffers (JacksonConfig)
+        objectMapperStreaming = Jackson2ObjectMapperBuilder.json()
+                .serializers(new ClienteJsonSerializer())
+                .postConfigurer(om -> om.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()))
+                .build();
+        clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+        entidades = Dados.clientes(tamanhoPagina, 2);
+        clientes = entidades.stream().map(clienteMapper::toDTO).toList();
+        // Faz o papel do corpo da resposta: o custo medido é o da serialização, não o da cópia da saída
+        saida = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public byte[] listaDeClientes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public int paginaComDTO() throws IOException {
+        saida.reset();
+        objectMapper.writeValue(saida, new Pagina<>(entidades, "cursor").map(clienteMapper::toDTO));
+        return saida.size();
+    }
+
+    @Benchmark
+    public int paginaStreaming() throws IOException {
+        saida.reset();
+        objectMapperStreaming.writeValue(saida, new Pagina<>(entidades, "cursor"));
+        return saida.size();
+    }
+}
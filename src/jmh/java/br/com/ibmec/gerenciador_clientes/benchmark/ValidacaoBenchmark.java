@@ -0,0 +1,82 @@
+package br.com.ibmec.gerenciador_clientes.benchmark;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do Bean Validation aplicado pelo {@code @Valid} dos controllers: regex dos {@code @Pattern}
+ * (CPF, telefone, UF, CEP), {@code IdadeMinimaValidator} e a interpolação de mensagens quando há erros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ClienteDTO clienteValido;
+    private ClienteDTO clienteInvalido;
+    private EnderecoDTO enderecoValido;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        ClienteMapper clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+
+        clienteValido = clienteMapper.toDTO(Dados.cliente(1L, 0));
+        clienteValido.setEnderecos(null);
+        enderecoValido = new EnderecoMapperImpl().toDTO(Dados.cliente(2L, 1).getEnderecos().get(0));
+
+        clienteInvalido = clienteMapper.toDTO(Dados.cliente(3L, 0));
+        clienteInvalido.setEnderecos(null);
+        clienteInvalido.setCpf("123456789");
+        clienteInvalido.setTelefone("01 1234");
+        clienteInvalido.setDataNascimento(LocalDate.now().minusYears(10));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteDTO>> clienteValido() {
+        return validator.validate(clienteValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteDTO>> clienteInvalido() {
+        return validator.validate(clienteInvalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EnderecoDTO>> enderecoValido() {
+        return validator.validate(enderecoValido);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas @Scheduled (recálculo das contagens por região)
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,118 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Descarta o put de um valor lido antes de uma invalidação da mesma chave. Cada invalidação
+ * incrementa a geração da chave; a falta (get sem valor) guarda, na thread, a geração vista, e o
+ * put seguinte da mesma chave só grava se ela não mudou. Sem isso, uma leitura que carregou o
+ * cliente antes do commit de uma alteração recolocaria a versão antiga depois da invalidação, e
+ * ela seria servida (com o ETag antigo e respostas 304) até expirar.
+ * As gerações ficam em faixas fixas por hash da chave: uma colisão só faz um put a menos.
+ */
+class CacheComGeracao implements Cache {
+
+    private static final int FAIXAS = 1024;
+
+    private record Falta(Object chave, long geracao) {
+    }
+
+    private final Cache alvo;
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+    private final ThreadLocal<Falta> ultimaFalta = new ThreadLocal<>();
+
+    CacheComGeracao(Cache alvo) {
+        this.alvo = alvo;
+    }
+
+    private int faixa(Object chave) {
+        return (chave.hashCode() & Integer.MAX_VALUE) % FAIXAS;
+    }
+
+    private void invalidada(Object chave) {
+        geracoes.incrementAndGet(faixa(chave));
+    }
+
+    private void invalidarTodas() {
+        for (int i = 0; i < FAIXAS; i++) {
+            geracoes.incrementAndGet(i);
+        }
+    }
+
+    // Consome a falta registrada pela thread: só grava quem leu sem invalidação no meio
+    private boolean podeGravar(Object chave) {
+        Falta falta = ultimaFalta.get();
+        ultimaFalta.remove();
+        return falta != null && falta.chave().equals(chave) && falta.geracao() == geracoes.get(faixa(chave));
+    }
+
+    @Override
+    public String getName() {
+        return alvo.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return alvo.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        // A geração é lida antes da consulta ao cache, e portanto antes da leitura no banco
+        long geracao = geracoes.get(faixa(key));
+        ValueWrapper valor = alvo.get(key);
+        if (valor == null) {
+            ultimaFalta.set(new Falta(key, geracao));
+        }
+        return valor;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return alvo.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return alvo.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (podeGravar(key)) {
+            alvo.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return podeGravar(key) ? alvo.putIfAbsent(key, value) : alvo.get(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidada(key);
+        alvo.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidada(key);
+        return alvo.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidarTodas();
+        alvo.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidarTodas();
+        return alvo.invalidate();
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENTES = "clientes";
+
+    // Cache em memória limitado por tamanho e TTL. As invalidações só são aplicadas após o commit da
+    // transação que alterou o cliente, para que uma leitura posterior ao commit não encontre o valor
+    // antigo. Isso não basta para uma leitura que carregou o cliente antes do commit e grava depois da
+    // invalidação: esse put é descartado pelo CacheComGeracao
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.clientes.spec}") String especificacao) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CLIENTES) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CacheComGeracao(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        cacheManager.setCacheSpecification(especificacao);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    // Os buffers de escrita do Jackson voltam para um pool compartilhado ao fim de cada resposta. O pool padrão
+    // é por thread e não é reaproveitado com threads virtuais (uma thread nova por requisição)
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer poolDeBuffersJackson() {
+        return builder -> builder.postConfigurer(objectMapper ->
+                objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()));
+    }
+
+    // CBOR (application/cbor) e Smile (application/x-jackson-smile), negociados por Accept/Content-Type.
+    // Usam o builder configurado pelo Spring Boot, com os mesmos módulos, serializadores e formato de datas
+    // do JSON; o JSON continua sendo o padrão quando o cliente não pede outro formato
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
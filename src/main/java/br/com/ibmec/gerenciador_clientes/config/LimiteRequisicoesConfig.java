@@ -0,0 +1,45 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import br.com.ibmec.gerenciador_clientes.limite.LimitadorRequisicoes;
+import br.com.ibmec.gerenciador_clientes.limite.LimiteRequisicoesFilter;
+import br.com.ibmec.gerenciador_clientes.limite.LimiteRequisicoesProperties;
+import br.com.ibmec.gerenciador_clientes.limite.LimitesEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Clock;
+
+// Limite de requisições por chamador nos endpoints da API (o Actuator fica de fora)
+@Configuration
+@ConditionalOnProperty(name = "limite.habilitado", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LimiteRequisicoesProperties.class)
+public class LimiteRequisicoesConfig {
+
+    @Bean
+    public LimitadorRequisicoes limitadorRequisicoes(LimiteRequisicoesProperties properties) {
+        return new LimitadorRequisicoes(properties, System::nanoTime);
+    }
+
+    // Logo depois do filtro de observação do Spring Boot, para que os 429 apareçam em http.server.requests
+    @Bean
+    public FilterRegistrationBean<LimiteRequisicoesFilter> limiteRequisicoesFilter(
+            LimitadorRequisicoes limitador, HttpMessageConverters conversores, LimiteRequisicoesProperties properties,
+            Clock clock) {
+        FilterRegistrationBean<LimiteRequisicoesFilter> registro = new FilterRegistrationBean<>(
+                new LimiteRequisicoesFilter(limitador, conversores.getConverters(), properties.getCabecalhoChave(),
+                        properties.getChaves(), clock));
+        registro.addUrlPatterns("/clientes/*", "/estatisticas/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+
+    @Bean
+    public LimitesEndpoint limitesEndpoint(LimitadorRequisicoes limitador) {
+        return new LimitesEndpoint(limitador);
+    }
+}
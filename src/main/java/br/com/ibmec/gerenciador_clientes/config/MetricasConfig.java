@@ -0,0 +1,31 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import br.com.ibmec.gerenciador_clientes.metrics.ContadorSql;
+import br.com.ibmec.gerenciador_clientes.metrics.ContadorSqlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricasConfig {
+
+    // Contagem de comandos SQL por requisição
+    @Bean
+    public HibernatePropertiesCustomizer contadorSqlHibernate() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSql());
+    }
+
+    @Bean
+    public WebMvcConfigurer contadorSqlWebMvc(MeterRegistry registry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry interceptors) {
+                interceptors.addInterceptor(new ContadorSqlInterceptor(registry));
+            }
+        };
+    }
+}
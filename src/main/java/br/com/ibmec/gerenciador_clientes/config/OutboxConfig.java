@@ -0,0 +1,33 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import br.com.ibmec.gerenciador_clientes.outbox.DestinoEventos;
+import br.com.ibmec.gerenciador_clientes.outbox.DestinoEventosArquivo;
+import br.com.ibmec.gerenciador_clientes.outbox.DestinoEventosMemoria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+// Destino dos eventos do outbox (outbox.destino): arquivo NDJSON com rotação por tamanho (padrão) ou memória
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.destino", havingValue = "arquivo", matchIfMissing = true)
+    public DestinoEventos destinoEventosArquivo(@Value("${outbox.arquivo}") Path arquivo,
+                                                @Value("${outbox.arquivo-tamanho-maximo:100MB}") DataSize tamanhoMaximo,
+                                                @Value("${outbox.arquivo-mantidos:5}") int arquivosMantidos,
+                                                ObjectMapper objectMapper) {
+        return new DestinoEventosArquivo(arquivo, objectMapper, tamanhoMaximo.toBytes(), arquivosMantidos);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.destino", havingValue = "memoria")
+    public DestinoEventosMemoria destinoEventosMemoria() {
+        return new DestinoEventosMemoria();
+    }
+}
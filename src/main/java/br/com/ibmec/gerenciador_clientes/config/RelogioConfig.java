@@ -0,0 +1,16 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+// Data atual usada nos cálculos de idade; nos testes é substituído por um relógio fixo
+@Configuration
+public class RelogioConfig {
+
+    @Bean
+    public Clock relogio() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import br.com.ibmec.gerenciador_clientes.datasource.ReplicasProperties;
+import br.com.ibmec.gerenciador_clientes.datasource.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Réplicas de leitura: transações @Transactional(readOnly = true) leem das réplicas, as demais usam o primário
+@Configuration
+@ConditionalOnProperty(name = "replicas.habilitadas", havingValue = "true")
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class ReplicasConfig {
+
+    // Também exposto para o health do Actuator, que verifica cada pool (primário e réplicas) separadamente
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(DataSourceProperties primario, ReplicasProperties replicas) {
+        HikariDataSource poolPrimario = primario.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        poolPrimario.setPoolName(RoteamentoDataSource.PRIMARIO);
+
+        Map<String, DataSource> poolsReplicas = new LinkedHashMap<>();
+        List<ReplicasProperties.Pool> pools = replicas.getPools();
+        for (int i = 0; i < pools.size(); i++) {
+            String nome = "replica-" + (i + 1);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(pools.get(i).getUrl())
+                    .username(pools.get(i).getUsername())
+                    .password(pools.get(i).getPassword())
+                    .build();
+            pool.setPoolName(nome);
+            pool.setReadOnly(true);
+            poolsReplicas.put(nome, pool);
+        }
+        return new RoteamentoDataSource(poolPrimario, poolsReplicas);
+    }
+
+    // A conexão física só é obtida no primeiro comando SQL, quando a transação já marcou a conexão
+    // como somente leitura; é esse sinal que escolhe entre o primário e o roteamento das réplicas
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamento) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteamento.getPrimario());
+        dataSource.setReadOnlyDataSource(roteamento);
+        return dataSource;
+    }
+}
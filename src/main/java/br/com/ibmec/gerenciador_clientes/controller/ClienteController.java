@@ -1,18 +1,34 @@
 package br.com.ibmec.gerenciador_clientes.controller;
 
 import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ConsultaClientesDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ImportacaoDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.exception.PreconditionFailedException;
+import br.com.ibmec.gerenciador_clientes.exception.PreconditionRequiredException;
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.service.ClienteService;
+import br.com.ibmec.gerenciador_clientes.service.ExportacaoClienteService;
+import br.com.ibmec.gerenciador_clientes.service.ImportacaoClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/clientes")
@@ -22,21 +38,93 @@ public class ClienteController {
     private ClienteService clienteService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ImportacaoClienteService importacaoClienteService;
 
+    @Autowired
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @Autowired
+    private ClienteMapper clienteMapper;
+
+    @Autowired
+    private MergePatch mergePatch;
+
+    private static final Set<String> CAMPOS_PATCH = Set.of("nome", "email", "cpf", "dataNascimento", "telefone");
+
+    // As listagens devolvem as entidades da página, escritas pelo ClienteJsonSerializer no formato de ClienteDTO
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> listarTodos() {
-        List<ClienteDTO> clientes = clienteService.listarTodos().stream()
+    public ResponseEntity<Pagina<Cliente>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String ordenarPor,
+            @RequestParam(defaultValue = "asc") String direcao,
+            @RequestParam(defaultValue = "" + ClienteService.TAMANHO_PAGINA_PADRAO) int tamanho,
+            @RequestParam(required = false) Integer idadeMin,
+            @RequestParam(required = false) Integer idadeMax) {
+        Sort.Direction direcaoOrdenacao = Sort.Direction.fromOptionalString(direcao)
+                .orElseThrow(() -> new InvalidRequestException("Direção de ordenação inválida: " + direcao));
+        return ResponseEntity.ok(clienteService.listarTodos(cursor, ordenarPor, direcaoOrdenacao, tamanho, idadeMin, idadeMax));
+    }
+
+    // GET /clientes?ids=1,2,3: vários clientes de uma vez, na ordem pedida; IDs inexistentes vão em naoEncontrados
+    @GetMapping(params = "ids")
+    public ResponseEntity<ConsultaClientesDTO> buscarPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(clienteService.buscarPorIds(ids));
+    }
+
+    // Mesma consulta com os IDs no corpo (array JSON), para listas que não cabem na URL
+    @PostMapping("/consulta")
+    public ResponseEntity<ConsultaClientesDTO> consultarPorIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(clienteService.buscarPorIds(ids));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Pagina<Cliente>> buscarPorNome(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ClienteService.TAMANHO_PAGINA_PADRAO) int tamanho) {
+        return ResponseEntity.ok(clienteService.buscarPorNome(q, cursor, tamanho));
+    }
+
+    // CPF e telefone podem ser informados com ou sem pontuação
+    @GetMapping("/cpf/{cpf}")
+    public ResponseEntity<ClienteDTO> buscarPorCpf(@PathVariable String cpf) {
+        return ResponseEntity.ok(convertToDTO(clienteService.buscarPorCpf(cpf)));
+    }
+
+    @GetMapping("/telefone/{telefone}")
+    public ResponseEntity<List<ClienteDTO>> buscarPorTelefone(@PathVariable String telefone) {
+        List<ClienteDTO> clientes = clienteService.buscarPorTelefone(telefone).stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .toList();
         return ResponseEntity.ok(clientes);
     }
 
+    // Exportação completa em streaming: as linhas são escritas na resposta à medida que são lidas do banco
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        return switch (formato.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(exportacaoClienteService::exportarNdjson);
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename("clientes.csv").build().toString())
+                    .body(exportacaoClienteService::exportarCsv);
+            default -> throw new InvalidRequestException("Formato de exportação inválido: " + formato + " (use ndjson ou csv).");
+        };
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ClienteDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<ClienteDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
         Cliente cliente = clienteService.buscarPorId(id);
+        String etag = etag(cliente);
+        // Versão inalterada: responde 304 sem mapear nem serializar o corpo
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ClienteDTO clienteDTO = convertToDTO(cliente);
-        return ResponseEntity.ok(clienteDTO);
+        return ResponseEntity.ok().eTag(etag).body(clienteDTO);
     }
 
     @PostMapping
@@ -48,15 +136,35 @@ public class ClienteController {
                 .path("/{id}")
                 .buildAndExpand(clienteSalvoDTO.getId())
                 .toUri();
-        return ResponseEntity.created(location).body(clienteSalvoDTO);
+        return ResponseEntity.created(location).eTag(etag(clienteSalvo)).body(clienteSalvoDTO);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ImportacaoDTO> importar(@RequestBody List<ClienteDTO> clientesDTO) {
+        return ResponseEntity.ok(importacaoClienteService.importar(clientesDTO));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ClienteDTO> atualizar(@PathVariable Long id, @Valid @RequestBody ClienteDTO clienteDTO) {
+    public ResponseEntity<ClienteDTO> atualizar(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @Valid @RequestBody ClienteDTO clienteDTO) {
+        Long versaoEsperada = versaoDoIfMatch(ifMatch);
         Cliente cliente = convertToEntity(clienteDTO);
-        Cliente clienteAtualizado = clienteService.atualizar(id, cliente);
+        Cliente clienteAtualizado = clienteService.atualizar(id, cliente, versaoEsperada);
         ClienteDTO clienteAtualizadoDTO = convertToDTO(clienteAtualizado);
-        return ResponseEntity.ok(clienteAtualizadoDTO);
+        return ResponseEntity.ok().eTag(etag(clienteAtualizado)).body(clienteAtualizadoDTO);
+    }
+
+    // JSON Merge Patch: If-Match é opcional, mas gravações concorrentes continuam protegidas pela versão
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ClienteDTO> atualizarParcial(@PathVariable Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @RequestBody JsonNode patch) {
+        Long versaoEsperada = ifMatch == null ? null : versaoDoIfMatch(ifMatch);
+        MergePatch.Alteracao<ClienteDTO> alteracao = mergePatch.aplicar(patch, ClienteDTO.class, CAMPOS_PATCH);
+        Cliente alteracoes = convertToEntity(alteracao.valores());
+        Cliente clienteAtualizado = clienteService.atualizarParcial(id, alteracoes, alteracao.campos(), versaoEsperada);
+        return ResponseEntity.ok().eTag(etag(clienteAtualizado)).body(convertToDTO(clienteAtualizado));
     }
 
     @DeleteMapping("/{id}")
@@ -65,11 +173,34 @@ public class ClienteController {
         return ResponseEntity.noContent().build();
     }
 
+    private static String etag(Cliente cliente) {
+        return "\"" + cliente.getVersao() + "\"";
+    }
+
+    // If-Match obrigatório: "*" aceita qualquer versão, senão o ETag lido no GET (forte ou fraco)
+    private static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("O cabeçalho If-Match com o ETag do cliente é obrigatório para atualizá-lo.");
+        }
+        String valor = ifMatch.trim();
+        if (valor.equals("*")) {
+            return null;
+        }
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("O If-Match informado não corresponde à versão atual do cliente: " + ifMatch);
+        }
+    }
+
     private ClienteDTO convertToDTO(Cliente cliente) {
-        return modelMapper.map(cliente, ClienteDTO.class);
+        return clienteMapper.toDTO(cliente);
     }
 
     private Cliente convertToEntity(ClienteDTO clienteDTO) {
-        return modelMapper.map(clienteDTO, Cliente.class);
+        return clienteMapper.toEntity(clienteDTO);
     }
 }
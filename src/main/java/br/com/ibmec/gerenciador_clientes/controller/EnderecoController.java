@@ -1,18 +1,21 @@
 package br.com.ibmec.gerenciador_clientes.controller;
 
 import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapper;
 import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
+import br.com.ibmec.gerenciador_clientes.service.ClienteService;
 import br.com.ibmec.gerenciador_clientes.service.EnderecoService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/clientes/{clienteId}/enderecos")
@@ -22,14 +25,19 @@ public class EnderecoController {
     private EnderecoService enderecoService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private EnderecoMapper enderecoMapper;
+
+    @Autowired
+    private MergePatch mergePatch;
+
+    private static final Set<String> CAMPOS_PATCH = Set.of("rua", "numero", "bairro", "cidade", "estado", "cep");
 
     @GetMapping
-    public ResponseEntity<List<EnderecoDTO>> listarEnderecos(@PathVariable Long clienteId) {
-        List<EnderecoDTO> enderecos = enderecoService.listarPorClienteId(clienteId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(enderecos);
+    public ResponseEntity<Pagina<EnderecoDTO>> listarEnderecos(
+            @PathVariable Long clienteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ClienteService.TAMANHO_PAGINA_PADRAO) int tamanho) {
+        return ResponseEntity.ok(enderecoService.listarPorClienteId(clienteId, cursor, tamanho));
     }
 
     @PostMapping
@@ -53,6 +61,15 @@ public class EnderecoController {
         return ResponseEntity.ok(enderecoAtualizadoDTO);
     }
 
+    @PatchMapping(value = "/{enderecoId}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<EnderecoDTO> atualizarEnderecoParcial(@PathVariable Long clienteId, @PathVariable Long enderecoId,
+                                                                @RequestBody JsonNode patch) {
+        MergePatch.Alteracao<EnderecoDTO> alteracao = mergePatch.aplicar(patch, EnderecoDTO.class, CAMPOS_PATCH);
+        Endereco alteracoes = convertToEntity(alteracao.valores());
+        Endereco enderecoAtualizado = enderecoService.atualizarParcial(clienteId, enderecoId, alteracoes, alteracao.campos());
+        return ResponseEntity.ok(convertToDTO(enderecoAtualizado));
+    }
+
     @DeleteMapping("/{enderecoId}")
     public ResponseEntity<Void> deletarEndereco(@PathVariable Long clienteId, @PathVariable Long enderecoId) {
         enderecoService.deletar(clienteId, enderecoId);
@@ -60,10 +77,10 @@ public class EnderecoController {
     }
 
     private EnderecoDTO convertToDTO(Endereco endereco) {
-        return modelMapper.map(endereco, EnderecoDTO.class);
+        return enderecoMapper.toDTO(endereco);
     }
 
     private Endereco convertToEntity(EnderecoDTO enderecoDTO) {
-        return modelMapper.map(enderecoDTO, Endereco.class);
+        return enderecoMapper.toEntity(enderecoDTO);
     }
 }
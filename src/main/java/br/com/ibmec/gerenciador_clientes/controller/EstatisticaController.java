@@ -0,0 +1,35 @@
+package br.com.ibmec.gerenciador_clientes.controller;
+
+import br.com.ibmec.gerenciador_clientes.dto.ContagemRegiaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.FaixaEtariaDTO;
+import br.com.ibmec.gerenciador_clientes.service.EstatisticaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/estatisticas")
+public class EstatisticaController {
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @GetMapping("/regioes")
+    public ResponseEntity<List<ContagemRegiaoDTO>> contarPorRegiao(@RequestParam(required = false) String estado) {
+        String uf = estado == null ? null : estado.toUpperCase(Locale.ROOT);
+        return ResponseEntity.ok(estatisticaService.listarPorRegiao(uf));
+    }
+
+    // limites: idades em que começa cada faixa, em ordem crescente
+    @GetMapping("/idades")
+    public ResponseEntity<List<FaixaEtariaDTO>> distribuicaoPorIdade(
+            @RequestParam(defaultValue = "18,25,35,45,55,65") List<Integer> limites) {
+        return ResponseEntity.ok(estatisticaService.distribuicaoPorIdade(limites));
+    }
+}
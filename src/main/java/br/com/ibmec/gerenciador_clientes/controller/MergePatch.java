@@ -0,0 +1,68 @@
+package br.com.ibmec.gerenciador_clientes.controller;
+
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Interpreta documentos JSON Merge Patch (RFC 7396) sobre os DTOs da API
+@Component
+public class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    // Valores enviados no documento e os nomes dos campos presentes (null em JSON significa remover o valor)
+    public record Alteracao<T>(T valores, Set<String> campos) {
+    }
+
+    // Converte o documento em um DTO contendo apenas os campos enviados e valida somente esses campos
+    public <T> Alteracao<T> aplicar(JsonNode patch, Class<T> tipo, Set<String> camposPermitidos) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestException("O corpo do PATCH deve ser um objeto JSON (JSON Merge Patch).");
+        }
+
+        Set<String> campos = new LinkedHashSet<>();
+        for (Iterator<String> nomes = patch.fieldNames(); nomes.hasNext(); ) {
+            String campo = nomes.next();
+            if (!camposPermitidos.contains(campo)) {
+                throw new InvalidRequestException("O campo não pode ser alterado por PATCH: " + campo);
+            }
+            campos.add(campo);
+        }
+
+        T valores;
+        try {
+            valores = objectMapper.treeToValue(patch, tipo);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Documento de PATCH inválido: " + e.getOriginalMessage());
+        }
+
+        List<String> erros = new ArrayList<>();
+        for (String campo : campos) {
+            for (ConstraintViolation<T> violacao : validator.validateProperty(valores, campo)) {
+                erros.add(campo + ": " + violacao.getMessage());
+            }
+        }
+        if (!erros.isEmpty()) {
+            erros.sort(null);
+            throw new InvalidRequestException(String.join("; ", erros));
+        }
+        return new Alteracao<>(valores, campos);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.ibmec.gerenciador_clientes.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Leitura das próprias escritas com réplicas de leitura: durante alguns segundos após
+ * uma alteração confirmada em um cliente, as leituras desse cliente vão para o primário,
+ * que já tem a alteração, em vez de uma réplica que ainda pode estar atrasada.
+ * Sem réplicas (replicas.habilitadas=false) não faz nada.
+ */
+@Component
+public class JanelaLeituraPropria {
+
+    // Marca a transação de leitura da thread atual para usar o primário (consultado por RoteamentoDataSource)
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private final boolean habilitada;
+    private final Cache<Long, Boolean> alterados;
+
+    public JanelaLeituraPropria(@Value("${replicas.habilitadas:false}") boolean habilitada,
+                                @Value("${replicas.janela-leitura-propria:5s}") Duration janela) {
+        this.habilitada = habilitada;
+        this.alterados = Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    // Chamado pelas operações de escrita do cliente; a janela começa no commit
+    public void registrarEscrita(Long clienteId) {
+        if (!habilitada || clienteId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alterados.put(clienteId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alterados.put(clienteId, Boolean.TRUE);
+            }
+        });
+    }
+
+    // Chamado no início de uma leitura do cliente, antes do primeiro comando SQL da transação
+    // (a conexão física só é obtida nesse momento, ver LazyConnectionDataSourceProxy)
+    public void lerDoPrimarioSeAlterado(Long clienteId) {
+        if (!habilitada || alterados.getIfPresent(clienteId) == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        forcarPrimario();
+    }
+
+    // Consulta de vários clientes: uma única verificação do conjunto; basta um alterado para ler do primário
+    public void lerDoPrimarioSeAlgumAlterado(Collection<Long> clienteIds) {
+        if (!habilitada || primarioForcado() || !TransactionSynchronizationManager.isSynchronizationActive()
+                || alterados.getAllPresent(clienteIds).isEmpty()) {
+            return;
+        }
+        forcarPrimario();
+    }
+
+    private static void forcarPrimario() {
+        PRIMARIO.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARIO.remove();
+            }
+        });
+    }
+
+    public static boolean primarioForcado() {
+        return PRIMARIO.get() != null;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.ibmec.gerenciador_clientes.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Pools das réplicas de leitura (replicas.pools[n].url/username/password); o primário é o spring.datasource
+@Data
+@ConfigurationProperties(prefix = "replicas")
+public class ReplicasProperties {
+
+    private List<Pool> pools = new ArrayList<>();
+
+    @Data
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.ibmec.gerenciador_clientes.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Destino das transações somente leitura: distribui as conexões entre as réplicas
+ * disponíveis (rodízio) e recorre ao primário quando nenhuma responde ou quando a
+ * leitura precisa ver uma escrita recente (JanelaLeituraPropria).
+ * As escritas não passam por aqui: vão direto ao primário (ReplicasConfig).
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    public static final String PRIMARIO = "primario";
+
+    private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 2;
+
+    private final DataSource primario;
+    private final Map<String, DataSource> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    // Réplicas que responderam à última verificação
+    private volatile List<String> disponiveis;
+
+    public RoteamentoDataSource(DataSource primario, Map<String, DataSource> replicas) {
+        this.primario = primario;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.disponiveis = List.copyOf(replicas.keySet());
+
+        Map<Object, Object> destinos = new LinkedHashMap<>();
+        destinos.put(PRIMARIO, primario);
+        destinos.putAll(replicas);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        initialize();
+    }
+
+    public DataSource getPrimario() {
+        return primario;
+    }
+
+    public List<String> getDisponiveis() {
+        return disponiveis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (JanelaLeituraPropria.primarioForcado()) {
+            return PRIMARIO;
+        }
+        List<String> atuais = disponiveis;
+        if (atuais.isEmpty()) {
+            return PRIMARIO;
+        }
+        return atuais.get(Math.floorMod(proxima.getAndIncrement(), atuais.size()));
+    }
+
+    // Verificação de cada pool de réplica: as que falham saem do rodízio até voltarem a responder
+    @Scheduled(fixedDelayString = "${replicas.verificacao-ms:10000}")
+    public void verificarReplicas() {
+        List<String> respondendo = new ArrayList<>();
+        replicas.forEach((nome, dataSource) -> {
+            if (responde(nome, dataSource)) {
+                respondendo.add(nome);
+            }
+        });
+        if (!respondendo.equals(disponiveis)) {
+            logger.warn("Réplicas disponíveis para leitura: {} de {}", respondendo, replicas.keySet());
+        }
+        disponiveis = List.copyOf(respondendo);
+    }
+
+    private static boolean responde(String nome, DataSource dataSource) {
+        try (Connection conexao = dataSource.getConnection()) {
+            return conexao.isValid(TIMEOUT_VERIFICACAO_SEGUNDOS);
+        } catch (SQLException e) {
+            logger.debug("Réplica {} não respondeu: {}", nome, e.getMessage());
+            return false;
+        }
+    }
+
+    // Fecha os pools (primário e réplicas) junto com o contexto
+    @Override
+    public void close() throws Exception {
+        for (Object dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -21,7 +21,7 @@ public class ClienteDTO {
     private String email;
 
     @NotBlank(message = "O CPF é obrigatório.")
-    @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", message = "O CPF deve seguir o padrão XXX.XXX.XXX-XX.")
+    @Pattern(regexp = "\\d{3}\\.?\\d{3}\\.?\\d{3}-?\\d{2}", message = "O CPF deve seguir o padrão XXX.XXX.XXX-XX.")
     private String cpf;
 
     @NotNull(message = "A data de nascimento é obrigatória.")
@@ -29,7 +29,7 @@ public class ClienteDTO {
     @IdadeMinima(valor = 18)
     private LocalDate dataNascimento;
 
-    @Pattern(regexp = "\\(\\d{2}\\) \\d{4,5}-\\d{4}", message = "O telefone deve seguir o padrão (XX) XXXX-XXXX ou (XX) XXXXX-XXXX.")
+    @Pattern(regexp = "\\(?[1-9]\\d\\)? ?\\d{4,5}-?\\d{4}", message = "O telefone deve seguir o padrão (XX) XXXX-XXXX ou (XX) XXXXX-XXXX.")
     private String telefone;
 
     private List<EnderecoDTO> enderecos;
@@ -0,0 +1,16 @@
+package br.com.ibmec.gerenciador_clientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Resultado da consulta por lista de IDs: os clientes na ordem pedida e os IDs que não existem
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultaClientesDTO {
+    private List<ClienteDTO> clientes;
+    private List<Long> naoEncontrados;
+}
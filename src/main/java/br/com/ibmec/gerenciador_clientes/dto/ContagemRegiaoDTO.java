@@ -0,0 +1,15 @@
+package br.com.ibmec.gerenciador_clientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContagemRegiaoDTO {
+    private String estado;
+    private String cidade;
+    private Long clientes;
+    private Long enderecos;
+}
@@ -1,9 +1,12 @@
 package br.com.ibmec.gerenciador_clientes.dto;
 
+import br.com.ibmec.gerenciador_clientes.mapper.FormatoDocumento;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class EnderecoDTO {
 
     private Long id;
@@ -30,6 +33,17 @@ public class EnderecoDTO {
     private String estado;
 
     @NotBlank(message = "O CEP é obrigatório.")
-    @Pattern(regexp = "\\d{5}-\\d{3}", message = "O CEP deve seguir o padrão XXXXX-XXX.")
+    @Pattern(regexp = "\\d{5}-?\\d{3}", message = "O CEP deve seguir o padrão XXXXX-XXX.")
     private String cep;
+
+    // Usado pela projeção JPQL da listagem de endereços (select new ...), que lê o CEP numérico da coluna
+    public EnderecoDTO(Long id, String rua, String numero, String bairro, String cidade, String estado, Integer cep) {
+        this.id = id;
+        this.rua = rua;
+        this.numero = numero;
+        this.bairro = bairro;
+        this.cidade = cidade;
+        this.estado = estado;
+        this.cep = FormatoDocumento.formatarCep(cep);
+    }
 }
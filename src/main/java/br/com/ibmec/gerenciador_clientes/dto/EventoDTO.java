@@ -0,0 +1,32 @@
+package br.com.ibmec.gerenciador_clientes.dto;
+
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import br.com.ibmec.gerenciador_clientes.model.TipoEvento;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Evento entregue ao destino; (clienteId, versao) identifica o evento e dá a ordem dentro do cliente
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoDTO {
+    private Long id;
+    private TipoEvento tipo;
+    private Long clienteId;
+    private Long enderecoId;
+    private Long versao;
+    private Instant criadoEm;
+
+    // Já é JSON: entra no documento sem ser serializado de novo
+    @JsonRawValue
+    private String dados;
+
+    public EventoDTO(EventoOutbox evento) {
+        this(evento.getId(), evento.getTipo(), evento.getClienteId(), evento.getEnderecoId(),
+                evento.getVersao(), evento.getCriadoEm(), evento.getDados());
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.ibmec.gerenciador_clientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Faixa de idade [idadeMinima, idadeMaxima]; idadeMaxima nula na última faixa (sem limite)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaixaEtariaDTO {
+    private Integer idadeMinima;
+    private Integer idadeMaxima;
+    private Long clientes;
+}
@@ -0,0 +1,17 @@
+package br.com.ibmec.gerenciador_clientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoDTO {
+    private int total;
+    private int criados;
+    private int rejeitados;
+    private List<ResultadoImportacaoDTO> resultados;
+}
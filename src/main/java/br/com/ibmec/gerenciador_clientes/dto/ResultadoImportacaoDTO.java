@@ -0,0 +1,21 @@
+package br.com.ibmec.gerenciador_clientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+
+    public enum Status { CRIADO, INVALIDO, DUPLICADO }
+
+    // Posição do registro no lote enviado (a partir de 0)
+    private int indice;
+    private Status status;
+    private Long id;
+    private List<String> erros;
+}
@@ -1,17 +1,18 @@
 package br.com.ibmec.gerenciador_clientes.exception;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
 import lombok.Data;
-
-import java.time.LocalDateTime;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ApiError {
     private int status;
     private String error;
     private String message;
     private String path;
 
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
-    private LocalDateTime timestamp;
+    // dd-MM-yyyy HH:mm:ss, já formatado pelo GlobalExceptionHandler
+    private String timestamp;
 }
@@ -1,7 +1,8 @@
 package br.com.ibmec.gerenciador_clientes.exception;
 
+// Resultado esperado (409), tratado pelo GlobalExceptionHandler: sem stack trace, que seria descartado
 public class DuplicateResourceException extends RuntimeException {
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
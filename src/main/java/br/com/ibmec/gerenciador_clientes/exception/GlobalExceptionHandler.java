@@ -1,50 +1,105 @@
 package br.com.ibmec.gerenciador_clientes.exception;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Converte as exceções em respostas {@link ApiError}. Os 404 e 409 são resultados esperados
+ * (varreduras, reenvios de clientes): em vez de um log por ocorrência, são contados em
+ * clientes.erros.esperados e resumidos no log a cada erros.resumo.intervalo-ms.
+ */
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    public static final String METRICA_ERROS_ESPERADOS = "clientes.erros.esperados";
+
+    private final TimestampErro timestamp;
+
+    private final LongAdder naoEncontrados = new LongAdder();
+    private final LongAdder duplicados = new LongAdder();
+    private long naoEncontradosResumidos;
+    private long duplicadosResumidos;
+
+    public GlobalExceptionHandler(Clock clock) {
+        this.timestamp = new TimestampErro(clock);
+    }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleResourceNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
-        ApiError error = new ApiError();
-        error.setStatus(HttpStatus.NOT_FOUND.value());
-        error.setError("Resource Not Found");
-        error.setMessage(ex.getMessage());
-        error.setPath(request.getRequestURI());
-        error.setTimestamp(LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        naoEncontrados.increment();
+        return resposta(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage(), request);
     }
 
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<ApiError> handleDuplicateResource(DuplicateResourceException ex, HttpServletRequest request) {
-        ApiError error = new ApiError();
-        error.setStatus(HttpStatus.CONFLICT.value());
-        error.setError("Duplicate Resource");
-        error.setMessage(ex.getMessage());
-        error.setPath(request.getRequestURI());
-        error.setTimestamp(LocalDateTime.now());
+        duplicados.increment();
+        return resposta(HttpStatus.CONFLICT, "Duplicate Resource", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidRequest(InvalidRequestException ex, HttpServletRequest request) {
+        return resposta(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest request) {
+        return resposta(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage(), request);
+    }
 
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<ApiError> handlePreconditionRequired(PreconditionRequiredException ex, HttpServletRequest request) {
+        return resposta(HttpStatus.PRECONDITION_REQUIRED, "Precondition Required", ex.getMessage(), request);
     }
 
     // Método para tratar outras exceções gerais
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneralException(Exception ex, HttpServletRequest request) {
-        ApiError error = new ApiError();
-        error.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        error.setError("Internal Server Error");
-        error.setMessage("Ocorreu um erro inesperado.");
-        error.setPath(request.getRequestURI());
-        error.setTimestamp(LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        return resposta(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "Ocorreu um erro inesperado.", request);
+    }
+
+    private ResponseEntity<ApiError> resposta(HttpStatus status, String erro, String mensagem, HttpServletRequest request) {
+        ApiError error = new ApiError(status.value(), erro, mensagem, request.getRequestURI(), timestamp.atual());
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRICA_ERROS_ESPERADOS, naoEncontrados, LongAdder::sum)
+                .description("Respostas 404 (recurso não encontrado)")
+                .tag("tipo", "nao_encontrado")
+                .register(registry);
+        FunctionCounter.builder(METRICA_ERROS_ESPERADOS, duplicados, LongAdder::sum)
+                .description("Respostas 409 (email ou CPF já cadastrado)")
+                .tag("tipo", "duplicado")
+                .register(registry);
+    }
+
+    // Um log por intervalo, e só quando houve erros, no lugar de um log por ocorrência
+    @Scheduled(fixedDelayString = "${erros.resumo.intervalo-ms:60000}")
+    public synchronized void registrarResumo() {
+        long totalNaoEncontrados = naoEncontrados.sum();
+        long totalDuplicados = duplicados.sum();
+        long novosNaoEncontrados = totalNaoEncontrados - naoEncontradosResumidos;
+        long novosDuplicados = totalDuplicados - duplicadosResumidos;
+        naoEncontradosResumidos = totalNaoEncontrados;
+        duplicadosResumidos = totalDuplicados;
+        if (novosNaoEncontrados > 0 || novosDuplicados > 0) {
+            logger.info("Desde o último resumo: {} respostas 404 (não encontrado) e {} respostas 409 (duplicado)",
+                    novosNaoEncontrados, novosDuplicados);
+        }
     }
 }
@@ -0,0 +1,7 @@
+package br.com.ibmec.gerenciador_clientes.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.ibmec.gerenciador_clientes.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
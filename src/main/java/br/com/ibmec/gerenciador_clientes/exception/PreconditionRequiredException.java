@@ -0,0 +1,7 @@
+package br.com.ibmec.gerenciador_clientes.exception;
+
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,8 @@
 package br.com.ibmec.gerenciador_clientes.exception;
 
+// Resultado esperado (404), tratado pelo GlobalExceptionHandler: sem stack trace, que seria descartado
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,37 @@
+package br.com.ibmec.gerenciador_clientes.exception;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamp dos corpos de erro ({@link ApiError}), no formato dd-MM-yyyy HH:mm:ss. Como a
+ * resolução é de segundos, o texto é refeito só quando o segundo muda.
+ */
+public class TimestampErro {
+
+    private static final DateTimeFormatter FORMATO = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    private final Clock clock;
+
+    private volatile Segundo segundo = new Segundo(Long.MIN_VALUE, null);
+
+    private record Segundo(long epoch, String texto) {
+    }
+
+    public TimestampErro(Clock clock) {
+        this.clock = clock;
+    }
+
+    public String atual() {
+        long agora = Math.floorDiv(clock.millis(), 1000);
+        Segundo atual = segundo;
+        if (atual.epoch() != agora) {
+            LocalDateTime momento = LocalDateTime.ofInstant(Instant.ofEpochSecond(agora), clock.getZone());
+            atual = new Segundo(agora, FORMATO.format(momento));
+            segundo = atual;
+        }
+        return atual.texto();
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Baldes de tokens de um chamador, um por classe de endpoint. Cada balde é guardado como um
+ * único long, o instante (System.nanoTime) em que ele estaria cheio de novo; consumir um token
+ * adianta esse instante em um intervalo de reposição (GCRA, equivalente ao balde de tokens).
+ * A atualização é um compareAndSet, sem bloqueio.
+ */
+class BaldesChamador {
+
+    private final AtomicLongArray cheioEm;
+
+    BaldesChamador(long agora) {
+        cheioEm = new AtomicLongArray(ClasseEndpoint.values().length);
+        for (int i = 0; i < cheioEm.length(); i++) {
+            cheioEm.set(i, agora);
+        }
+    }
+
+    /**
+     * Consome um token do balde da classe. Devolve 0 se havia token, ou quantos nanossegundos
+     * faltam para o próximo.
+     *
+     * @param intervalo nanossegundos para repor um token
+     * @param tolerancia capacidade do balde, em nanossegundos (capacidade × intervalo)
+     */
+    long consumir(ClasseEndpoint classe, long intervalo, long tolerancia, long agora) {
+        int i = classe.ordinal();
+        while (true) {
+            long atual = cheioEm.get(i);
+            long proximo = Math.max(atual, agora) + intervalo;
+            long espera = proximo - agora - tolerancia;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cheioEm.compareAndSet(i, atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+
+    double tokens(ClasseEndpoint classe, long intervalo, long tolerancia, long agora) {
+        long ocupado = Math.max(cheioEm.get(classe.ordinal()), agora) - agora;
+        return Math.max(0, (double) (tolerancia - ocupado) / intervalo);
+    }
+}
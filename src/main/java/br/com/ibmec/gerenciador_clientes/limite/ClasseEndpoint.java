@@ -0,0 +1,40 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+/**
+ * Classe de endpoint para o limite de requisições: cada classe tem o seu balde por chamador.
+ */
+public enum ClasseEndpoint {
+
+    // GET de coleções: listagens, busca por nome, endereços do cliente, exportação e estatísticas;
+    // também a consulta por lista de IDs (POST /clientes/consulta), que é uma leitura
+    LISTAGEM,
+    // GET de um recurso: /clientes/{id}, /clientes/cpf/{cpf}, /clientes/telefone/{telefone}, .../enderecos/{id}
+    LEITURA,
+    // POST, PUT, PATCH e DELETE (exceto POST /clientes/consulta)
+    ESCRITA;
+
+    public static ClasseEndpoint de(String metodo, String caminho) {
+        if (!"GET".equals(metodo) && !"HEAD".equals(metodo)) {
+            return "POST".equals(metodo) && caminho.equals("/clientes/consulta") ? LISTAGEM : ESCRITA;
+        }
+        String semBarraFinal = caminho.endsWith("/") ? caminho.substring(0, caminho.length() - 1) : caminho;
+        int barra = semBarraFinal.lastIndexOf('/');
+        if (numerico(semBarraFinal.substring(barra + 1))) {
+            return LEITURA;
+        }
+        String anterior = barra > 0 ? semBarraFinal.substring(semBarraFinal.lastIndexOf('/', barra - 1) + 1, barra) : "";
+        return "cpf".equals(anterior) || "telefone".equals(anterior) ? LEITURA : LISTAGEM;
+    }
+
+    private static boolean numerico(String segmento) {
+        if (segmento.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segmento.length(); i++) {
+            if (!Character.isDigit(segmento.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
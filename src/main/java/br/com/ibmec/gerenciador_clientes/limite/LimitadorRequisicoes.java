@@ -0,0 +1,150 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens por chamador (chave de API ou IP) e classe de endpoint. Os chamadores ficam em
+ * um cache limitado por quantidade e por tempo sem uso, de modo que a memória não cresce com o
+ * número de chamadores distintos; um chamador descartado volta com os baldes cheios.
+ */
+public class LimitadorRequisicoes implements MeterBinder {
+
+    public static final String METRICA_REJEITADAS = "clientes.limite.rejeitadas";
+    public static final String METRICA_CHAMADORES = "clientes.limite.chamadores";
+
+    // Quantidade de baldes listada pelo endpoint do Actuator (os mais consumidos primeiro)
+    static final int MAXIMO_BALDES_EXIBIDOS = 100;
+
+    private static final ClasseEndpoint[] CLASSES = ClasseEndpoint.values();
+
+    private final LimiteRequisicoesProperties properties;
+    private final LongSupplier relogio;
+    private final Cache<String, BaldesChamador> chamadores;
+
+    // Por classe (ordinal): nanossegundos para repor um token e capacidade do balde em nanossegundos
+    private final long[] intervalos = new long[CLASSES.length];
+    private final long[] tolerancias = new long[CLASSES.length];
+    private final LongAdder[] rejeitadas = new LongAdder[CLASSES.length];
+
+    public LimitadorRequisicoes(LimiteRequisicoesProperties properties, LongSupplier relogio) {
+        this.properties = properties;
+        this.relogio = relogio;
+        this.chamadores = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximoChamadores())
+                .expireAfterAccess(properties.getExpiracao())
+                .build();
+        for (ClasseEndpoint classe : CLASSES) {
+            LimiteRequisicoesProperties.Taxa taxa = properties.taxa(classe);
+            if (taxa.getCapacidade() < 1 || taxa.getPorSegundo() <= 0) {
+                throw new IllegalArgumentException("Limite inválido para " + classe + ": " + taxa);
+            }
+            intervalos[classe.ordinal()] = (long) (TimeUnit.SECONDS.toNanos(1) / taxa.getPorSegundo());
+            tolerancias[classe.ordinal()] = intervalos[classe.ordinal()] * taxa.getCapacidade();
+            rejeitadas[classe.ordinal()] = new LongAdder();
+        }
+    }
+
+    /**
+     * Consome um token do chamador na classe. Devolve 0 se a requisição pode seguir, ou os
+     * nanossegundos até haver um token.
+     */
+    public long admitir(String chamador, ClasseEndpoint classe) {
+        long agora = relogio.getAsLong();
+        BaldesChamador baldes = chamadores.getIfPresent(chamador);
+        if (baldes == null) {
+            baldes = chamadores.get(chamador, c -> new BaldesChamador(agora));
+        }
+        int i = classe.ordinal();
+        long espera = baldes.consumir(classe, intervalos[i], tolerancias[i], agora);
+        if (espera > 0) {
+            rejeitadas[i].increment();
+        }
+        return espera;
+    }
+
+    // Estado atual para o Actuator: taxas configuradas e os baldes com menos tokens
+    public Map<String, Object> estado() {
+        long agora = relogio.getAsLong();
+        List<Map<String, Object>> baldes = new ArrayList<>();
+        chamadores.asMap().forEach((chamador, baldesChamador) -> {
+            Map<String, Object> tokens = new LinkedHashMap<>();
+            tokens.put("chamador", mascarar(chamador));
+            for (ClasseEndpoint classe : CLASSES) {
+                int i = classe.ordinal();
+                double disponiveis = baldesChamador.tokens(classe, intervalos[i], tolerancias[i], agora);
+                tokens.put(nome(classe), Math.floor(disponiveis * 10) / 10);
+            }
+            baldes.add(tokens);
+        });
+        baldes.sort(Comparator.comparingDouble(LimitadorRequisicoes::menosTokens));
+
+        Map<ClasseEndpoint, LimiteRequisicoesProperties.Taxa> taxas = new EnumMap<>(ClasseEndpoint.class);
+        Map<ClasseEndpoint, Long> totalRejeitadas = new EnumMap<>(ClasseEndpoint.class);
+        for (ClasseEndpoint classe : CLASSES) {
+            taxas.put(classe, properties.taxa(classe));
+            totalRejeitadas.put(classe, rejeitadas[classe.ordinal()].sum());
+        }
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("taxas", taxas);
+        estado.put("rejeitadas", totalRejeitadas);
+        estado.put("chamadores", chamadores.estimatedSize());
+        estado.put("maximoChamadores", properties.getMaximoChamadores());
+        estado.put("baldes", baldes.subList(0, Math.min(baldes.size(), MAXIMO_BALDES_EXIBIDOS)));
+        return estado;
+    }
+
+    private static double menosTokens(Map<String, Object> tokens) {
+        double menor = Double.MAX_VALUE;
+        for (ClasseEndpoint classe : CLASSES) {
+            menor = Math.min(menor, (Double) tokens.get(nome(classe)));
+        }
+        return menor;
+    }
+
+    private static String nome(ClasseEndpoint classe) {
+        return classe.name().toLowerCase(Locale.ROOT);
+    }
+
+    // As chaves de API aparecem só pelo início
+    private static String mascarar(String chamador) {
+        if (!chamador.startsWith(LimiteRequisicoesFilter.PREFIXO_CHAVE)) {
+            return chamador;
+        }
+        int visivel = Math.min(chamador.length(), LimiteRequisicoesFilter.PREFIXO_CHAVE.length() + 4);
+        return chamador.substring(0, visivel) + "…";
+    }
+
+    long chamadoresAcompanhados() {
+        chamadores.cleanUp();
+        return chamadores.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ClasseEndpoint classe : CLASSES) {
+            FunctionCounter.builder(METRICA_REJEITADAS, rejeitadas[classe.ordinal()], LongAdder::sum)
+                    .description("Requisições recusadas com 429 pelo limite por chamador")
+                    .tag("classe", nome(classe))
+                    .register(registry);
+        }
+        Gauge.builder(METRICA_CHAMADORES, chamadores, Cache::estimatedSize)
+                .description("Chamadores com baldes em memória")
+                .register(registry);
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import br.com.ibmec.gerenciador_clientes.exception.ApiError;
+import br.com.ibmec.gerenciador_clientes.exception.TimestampErro;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica o {@link LimitadorRequisicoes} antes do controller (e antes de qualquer conexão com o
+ * banco): sem token, responde 429 com Retry-After, em segundos.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    static final String PREFIXO_CHAVE = "chave:";
+    static final String PREFIXO_IP = "ip:";
+
+    private final LimitadorRequisicoes limitador;
+    private final List<HttpMessageConverter<?>> conversores;
+    private final String cabecalhoChave;
+    private final Set<String> chaves;
+    private final TimestampErro timestamp;
+
+    public LimiteRequisicoesFilter(LimitadorRequisicoes limitador, List<HttpMessageConverter<?>> conversores,
+                                   String cabecalhoChave, Set<String> chaves, Clock clock) {
+        this.limitador = limitador;
+        this.conversores = List.copyOf(conversores);
+        this.cabecalhoChave = cabecalhoChave;
+        this.chaves = Set.copyOf(chaves);
+        this.timestamp = new TimestampErro(clock);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        ClasseEndpoint classe = ClasseEndpoint.de(request.getMethod(), caminho);
+        long espera = limitador.admitir(chamador(request), classe);
+        if (espera == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        ApiError error = new ApiError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests",
+                "Limite de requisições excedido; tente novamente em " + segundos + " s.", request.getRequestURI(),
+                timestamp.atual());
+        escrever(error, request, response);
+    }
+
+    // O corpo do erro segue o Accept, com os mesmos conversores do Spring MVC (JSON, CBOR ou Smile).
+    // Sem Accept, com */* ou com um formato que nenhum conversor escreve, vai em JSON
+    @SuppressWarnings("unchecked")
+    private void escrever(ApiError error, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<MediaType> candidatos = new ArrayList<>(aceitos(request));
+        candidatos.add(MediaType.APPLICATION_JSON);
+        for (MediaType tipo : candidatos) {
+            MediaType formato = tipo.isConcrete() ? tipo : MediaType.APPLICATION_JSON;
+            for (HttpMessageConverter<?> conversor : conversores) {
+                if (conversor.canWrite(ApiError.class, formato)) {
+                    ((HttpMessageConverter<Object>) conversor).write(error, formato, new ServletServerHttpResponse(response));
+                    return;
+                }
+            }
+        }
+    }
+
+    private static List<MediaType> aceitos(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (!StringUtils.hasText(accept)) {
+            return List.of();
+        }
+        try {
+            List<MediaType> tipos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(tipos);
+            return tipos;
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+    }
+
+    // Uma chave de API de limite.chaves tem balde próprio; sem chave, ou com uma desconhecida, vale o IP (com
+    // server.forward-headers-strategy, o do cliente original). Aceitar qualquer chave deixaria o chamador escapar
+    // do limite trocando de chave a cada requisição, e encher o limitador de baldes descartáveis
+    private String chamador(HttpServletRequest request) {
+        String chave = StringUtils.hasLength(cabecalhoChave) ? request.getHeader(cabecalhoChave) : null;
+        if (chave != null && chaves.contains(chave)) {
+            return PREFIXO_CHAVE + chave;
+        }
+        return PREFIXO_IP + request.getRemoteAddr();
+    }
+}
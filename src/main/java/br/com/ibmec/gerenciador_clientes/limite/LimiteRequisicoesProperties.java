@@ -0,0 +1,52 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+// Limite de requisições por chamador (limite.*): capacidade do balde e reposição por segundo de cada classe de endpoint
+@Data
+@ConfigurationProperties(prefix = "limite")
+public class LimiteRequisicoesProperties {
+
+    private boolean habilitado = true;
+
+    // Cabeçalho com a chave do chamador; sem ele (ou com o nome vazio), o limite é por endereço IP
+    private String cabecalhoChave = "X-API-Key";
+
+    // Chaves aceitas no cabeçalho; uma chave fora da lista é ignorada e o limite volta a ser o do IP
+    private Set<String> chaves = new HashSet<>();
+
+    // Chamadores acompanhados ao mesmo tempo; os menos recentes são descartados
+    private int maximoChamadores = 10_000;
+
+    // Chamador sem requisições por esse tempo é descartado (e volta com o balde cheio)
+    private Duration expiracao = Duration.ofMinutes(10);
+
+    private Taxa listagem = new Taxa(40, 20);
+    private Taxa leitura = new Taxa(200, 100);
+    private Taxa escrita = new Taxa(20, 10);
+
+    public Taxa taxa(ClasseEndpoint classe) {
+        return switch (classe) {
+            case LISTAGEM -> listagem;
+            case LEITURA -> leitura;
+            case ESCRITA -> escrita;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Taxa {
+        // Rajada máxima (tokens do balde cheio)
+        private int capacidade;
+        // Tokens repostos por segundo
+        private double porSegundo;
+    }
+}
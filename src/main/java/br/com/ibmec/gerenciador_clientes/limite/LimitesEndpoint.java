@@ -0,0 +1,22 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+// GET /actuator/limites: taxas configuradas, requisições recusadas e os baldes com menos tokens
+@Endpoint(id = "limites")
+public class LimitesEndpoint {
+
+    private final LimitadorRequisicoes limitador;
+
+    public LimitesEndpoint(LimitadorRequisicoes limitador) {
+        this.limitador = limitador;
+    }
+
+    @ReadOperation
+    public Map<String, Object> limites() {
+        return limitador.estado();
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.ibmec.gerenciador_clientes.mapper;
+
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Escreve o Cliente e os seus endereços direto no JsonGenerator, no mesmo formato de
+ * ClienteDTO (CPF, telefone e CEP formatados). As listagens paginadas devolvem as próprias
+ * entidades da página, sem criar um ClienteDTO e um EnderecoDTO por item; os documentos são
+ * formatados em um único char[] reaproveitado por cliente, sem criar uma String por campo.
+ * Um campo novo em ClienteDTO ou EnderecoDTO precisa ser escrito aqui também; o
+ * ClienteJsonSerializerTest compara a saída com a do ClienteMapper para um cliente completo.
+ */
+@JsonComponent
+public class ClienteJsonSerializer extends StdSerializer<Cliente> {
+
+    public ClienteJsonSerializer() {
+        super(Cliente.class);
+    }
+
+    @Override
+    public void serialize(Cliente cliente, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        char[] texto = new char[FormatoDocumento.TAMANHO_MAXIMO];
+        gerador.writeStartObject(cliente);
+        escreverNumero(gerador, "id", cliente.getId());
+        gerador.writeStringField("nome", cliente.getNome());
+        gerador.writeStringField("email", cliente.getEmail());
+        gerador.writeFieldName("cpf");
+        if (cliente.getCpf() == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeString(texto, 0, FormatoDocumento.escreverCpf(cliente.getCpf(), texto));
+        }
+        // Segue a configuração de datas do ObjectMapper (ISO-8601, como no DTO)
+        provider.defaultSerializeField("dataNascimento", cliente.getDataNascimento(), gerador);
+        gerador.writeFieldName("telefone");
+        if (cliente.getTelefone() == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeString(texto, 0, FormatoDocumento.escreverTelefone(cliente.getTelefone(), texto));
+        }
+        if (cliente.getEnderecos() == null) {
+            gerador.writeNullField("enderecos");
+        } else {
+            gerador.writeArrayFieldStart("enderecos");
+            for (Endereco endereco : cliente.getEnderecos()) {
+                escreverEndereco(gerador, endereco, texto);
+            }
+            gerador.writeEndArray();
+        }
+        gerador.writeEndObject();
+    }
+
+    private static void escreverEndereco(JsonGenerator gerador, Endereco endereco, char[] texto) throws IOException {
+        gerador.writeStartObject(endereco);
+        escreverNumero(gerador, "id", endereco.getId());
+        gerador.writeStringField("rua", endereco.getRua());
+        gerador.writeStringField("numero", endereco.getNumero());
+        gerador.writeStringField("bairro", endereco.getBairro());
+        gerador.writeStringField("cidade", endereco.getCidade());
+        gerador.writeStringField("estado", endereco.getEstado());
+        gerador.writeFieldName("cep");
+        if (endereco.getCep() == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeString(texto, 0, FormatoDocumento.escreverCep(endereco.getCep(), texto));
+        }
+        gerador.writeEndObject();
+    }
+
+    private static void escreverNumero(JsonGenerator gerador, String campo, Long valor) throws IOException {
+        if (valor == null) {
+            gerador.writeNullField(campo);
+        } else {
+            gerador.writeNumberField(campo, valor);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.ibmec.gerenciador_clientes.mapper;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = {EnderecoMapper.class, FormatoDocumento.class},
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface ClienteMapper {
+
+    @Mapping(target = "cpf", qualifiedByName = "formatarCpf")
+    @Mapping(target = "telefone", qualifiedByName = "formatarTelefone")
+    ClienteDTO toDTO(Cliente cliente);
+
+    @Mapping(target = "nomeNormalizado", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    @Mapping(target = "cpf", qualifiedByName = "cpfParaNumero")
+    @Mapping(target = "telefone", qualifiedByName = "telefoneParaNumero")
+    Cliente toEntity(ClienteDTO clienteDTO);
+
+    // Endereços enviados junto com o cliente precisam apontar para ele para serem gravados com o cliente_id
+    @AfterMapping
+    default void vincularEnderecos(@MappingTarget Cliente cliente) {
+        if (cliente.getEnderecos() != null) {
+            cliente.getEnderecos().forEach(endereco -> endereco.setCliente(cliente));
+        }
+    }
+}
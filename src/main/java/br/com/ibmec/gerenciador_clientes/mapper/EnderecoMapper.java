@@ -0,0 +1,22 @@
+package br.com.ibmec.gerenciador_clientes.mapper;
+
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = FormatoDocumento.class)
+public interface EnderecoMapper {
+
+    @Mapping(target = "cep", qualifiedByName = "formatarCep")
+    EnderecoDTO toDTO(Endereco endereco);
+
+    List<EnderecoDTO> toDTOList(List<Endereco> enderecos);
+
+    @Mapping(target = "cliente", ignore = true)
+    @Mapping(target = "cep", qualifiedByName = "cepParaNumero")
+    Endereco toEntity(EnderecoDTO enderecoDTO);
+}
@@ -0,0 +1,126 @@
+package br.com.ibmec.gerenciador_clientes.mapper;
+
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import org.mapstruct.Named;
+
+/**
+ * Conversão entre a forma numérica gravada no banco (CPF, telefone e CEP) e o texto
+ * formatado da API. Na entrada a pontuação é opcional: "123.456.789-00" e "12345678900"
+ * resultam no mesmo número.
+ * Os métodos escrever* montam o texto formatado em um char[] informado, sem criar String,
+ * para a escrita direta no JSON (ClienteJsonSerializer).
+ */
+public final class FormatoDocumento {
+
+    // Maior texto formatado possível: telefone com os 19 dígitos de um long + "()", " " e "-"
+    public static final int TAMANHO_MAXIMO = 23;
+
+    private FormatoDocumento() {
+    }
+
+    @Named("cpfParaNumero")
+    public static Long cpfParaNumero(String cpf) {
+        return paraNumero(cpf, 11, 11, "CPF");
+    }
+
+    @Named("formatarCpf")
+    public static String formatarCpf(Long cpf) {
+        if (cpf == null) {
+            return null;
+        }
+        char[] texto = new char[TAMANHO_MAXIMO];
+        return new String(texto, 0, escreverCpf(cpf, texto));
+    }
+
+    // 000.000.000-00; devolve a quantidade de caracteres escritos
+    public static int escreverCpf(long cpf, char[] destino) {
+        long resto = preencher(cpf, destino, 12, 2);
+        destino[11] = '-';
+        resto = preencher(resto, destino, 8, 3);
+        destino[7] = '.';
+        resto = preencher(resto, destino, 4, 3);
+        destino[3] = '.';
+        preencher(resto, destino, 0, 3);
+        return 14;
+    }
+
+    // DDD + 8 dígitos (fixo) ou 9 dígitos (celular); o DDD nunca começa com zero
+    @Named("telefoneParaNumero")
+    public static Long telefoneParaNumero(String telefone) {
+        return paraNumero(telefone, 10, 11, "telefone");
+    }
+
+    @Named("formatarTelefone")
+    public static String formatarTelefone(Long telefone) {
+        if (telefone == null) {
+            return null;
+        }
+        char[] texto = new char[TAMANHO_MAXIMO];
+        return new String(texto, 0, escreverTelefone(telefone, texto));
+    }
+
+    // (00) 00000-0000 ou (00) 0000-0000, conforme a quantidade de dígitos
+    public static int escreverTelefone(long telefone, char[] destino) {
+        int digitos = quantidadeDigitos(telefone);
+        long resto = preencher(telefone, destino, digitos, 4);
+        destino[digitos - 1] = '-';
+        resto = preencher(resto, destino, 5, digitos - 6);
+        destino[4] = ' ';
+        destino[3] = ')';
+        preencher(resto, destino, 1, 2);
+        destino[0] = '(';
+        return digitos + 4;
+    }
+
+    @Named("cepParaNumero")
+    public static Integer cepParaNumero(String cep) {
+        Long numero = paraNumero(cep, 8, 8, "CEP");
+        return numero == null ? null : numero.intValue();
+    }
+
+    @Named("formatarCep")
+    public static String formatarCep(Integer cep) {
+        if (cep == null) {
+            return null;
+        }
+        char[] texto = new char[TAMANHO_MAXIMO];
+        return new String(texto, 0, escreverCep(cep, texto));
+    }
+
+    // 00000-000
+    public static int escreverCep(int cep, char[] destino) {
+        long resto = preencher(cep, destino, 6, 3);
+        destino[5] = '-';
+        preencher(resto, destino, 0, 5);
+        return 9;
+    }
+
+    // Escreve os últimos `quantidade` dígitos de valor (com zeros à esquerda) a partir de inicio e devolve o que sobrou
+    private static long preencher(long valor, char[] destino, int inicio, int quantidade) {
+        for (int i = inicio + quantidade - 1; i >= inicio; i--) {
+            destino[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return valor;
+    }
+
+    private static int quantidadeDigitos(long valor) {
+        int digitos = 1;
+        while (valor >= 10) {
+            valor /= 10;
+            digitos++;
+        }
+        return digitos;
+    }
+
+    private static Long paraNumero(String valor, int minimoDigitos, int maximoDigitos, String campo) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        String digitos = valor.replaceAll("\\D", "");
+        if (digitos.length() < minimoDigitos || digitos.length() > maximoDigitos) {
+            throw new InvalidRequestException("O " + campo + " informado é inválido: " + valor);
+        }
+        return Long.parseLong(digitos);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.ibmec.gerenciador_clientes.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual, entre
+ * {@link #iniciar()} e {@link #finalizar()} (uma requisição HTTP, ver {@link ContadorSqlInterceptor}).
+ * Inserts em batch JDBC contam uma vez por batch.
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<long[]> CONTADOR = new ThreadLocal<>();
+
+    public static void iniciar() {
+        CONTADOR.set(new long[1]);
+    }
+
+    // Devolve o total de comandos desde iniciar(), ou -1 se a contagem não foi iniciada nesta thread
+    public static long finalizar() {
+        long[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? -1 : contador[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+}
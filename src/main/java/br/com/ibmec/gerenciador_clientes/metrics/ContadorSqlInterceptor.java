@@ -0,0 +1,50 @@
+package br.com.ibmec.gerenciador_clientes.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou no resumo {@value #METRICA},
+ * com as mesmas tags {@code method} e {@code uri} (padrão da rota) do {@code http.server.requests}.
+ */
+public class ContadorSqlInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRICA = "clientes.http.sql";
+
+    private final MeterRegistry registry;
+
+    public ContadorSqlInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorSql.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long comandos = ContadorSql.finalizar();
+        if (comandos < 0) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRICA)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(registry)
+                .record(comandos);
+    }
+
+    // Respostas assíncronas (exportação em streaming) terminam em outra thread; libera a contagem desta
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorSql.finalizar();
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.ibmec.gerenciador_clientes.metrics;
+
+import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.exception.PreconditionFailedException;
+import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mede a duração de cada método público de {@code ClienteService} e {@code EnderecoService}
+ * no timer {@value #METRICA}, com as tags {@code classe}, {@code metodo} e {@code resultado}
+ * ({@code sucesso}, {@code nao_encontrado}, {@code duplicado}, {@code invalido} ou {@code erro}).
+ * <p>
+ * Executa antes dos interceptadores de cache e de transação, então o tempo inclui o commit
+ * e as leituras servidas pelo cache.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasServicoAspect {
+
+    public static final String METRICA = "clientes.servico";
+
+    private final MeterRegistry registry;
+
+    public MetricasServicoAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * br.com.ibmec.gerenciador_clientes.service.ClienteService.*(..))"
+            + " || execution(public * br.com.ibmec.gerenciador_clientes.service.EnderecoService.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String resultado = "sucesso";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            resultado = resultado(e);
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(METRICA)
+                    .tag("classe", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("resultado", resultado)
+                    .register(registry));
+        }
+    }
+
+    private static String resultado(Throwable e) {
+        if (e instanceof ResourceNotFoundException) {
+            return "nao_encontrado";
+        }
+        if (e instanceof DuplicateResourceException) {
+            return "duplicado";
+        }
+        if (e instanceof InvalidRequestException) {
+            return "invalido";
+        }
+        if (e instanceof PreconditionFailedException) {
+            return "versao_desatualizada";
+        }
+        return "erro";
+    }
+}
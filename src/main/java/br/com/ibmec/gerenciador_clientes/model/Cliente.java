@@ -3,6 +3,9 @@ package br.com.ibmec.gerenciador_clientes.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -10,39 +13,74 @@ import java.util.List;
 
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Cliente.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = Cliente.UK_CPF, columnNames = "cpf")
+}, indexes = {
+        @Index(name = "idx_cliente_telefone", columnList = "telefone"),
+        // Busca por prefixo do nome com paginação keyset: LIKE 'prefixo%' + (nome_normalizado, id) > cursor
+        @Index(name = "idx_cliente_nome_normalizado", columnList = "nome_normalizado, id"),
+        // Filtro e distribuição por idade: a faixa de idades vira uma faixa de datas de nascimento
+        @Index(name = "idx_cliente_data_nascimento", columnList = "data_nascimento, id")
+})
+// O UPDATE inclui apenas as colunas alteradas (PATCH): email e CPF inalterados não tocam os índices únicos
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cliente {
 
+    // Nomes das restrições de unicidade, usados para traduzir violações em DuplicateResourceException
+    public static final String UK_EMAIL = "uk_cliente_email";
+    public static final String UK_CPF = "uk_cliente_cpf";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório.")
     @Size(min = 3, max = 100, message = "O nome deve ter entre 3 e 100 caracteres.")
     private String nome;
 
+    // Nome em minúsculas e sem acentos, usado na busca por nome; derivado de nome ao gravar
+    @Column(name = "nome_normalizado", length = 100)
+    private String nomeNormalizado;
+
     @NotBlank(message = "O email é obrigatório.")
     @Email(message = "O email deve ser válido.")
-    @Column(unique = true)
     private String email;
 
-    @NotBlank(message = "O CPF é obrigatório.")
-    @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", message = "O CPF deve seguir o padrão XXX.XXX.XXX-XX.")
-    @Column(unique = true)
-    private String cpf;
+    // CPF, telefone e CEP são gravados como números (sem pontuação); a formatação fica nos DTOs (FormatoDocumento)
+    @NotNull(message = "O CPF é obrigatório.")
+    @Max(value = 99999999999L, message = "O CPF deve ter 11 dígitos.")
+    private Long cpf;
 
     @NotNull(message = "A data de nascimento é obrigatória.")
     @Past(message = "A data de nascimento deve ser uma data passada.")
     private LocalDate dataNascimento;
 
-    @Pattern(regexp = "\\(\\d{2}\\) \\d{4,5}-\\d{4}", message = "O telefone deve seguir o padrão (XX) XXXX-XXXX ou (XX) XXXXX-XXXX.")
-    private String telefone;
+    @Min(value = 1000000000L, message = "O telefone deve ter 10 ou 11 dígitos.")
+    @Max(value = 99999999999L, message = "O telefone deve ter 10 ou 11 dígitos.")
+    private Long telefone;
+
+    // Controle de concorrência otimista e ETag da API; incrementada também quando os endereços mudam
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
 
+    // Carrega os endereços de uma página inteira de clientes em uma única consulta (tamanho máximo da página)
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Endereco> enderecos;
 
+    @PrePersist
+    @PreUpdate
+    void atualizarNomeNormalizado() {
+        nomeNormalizado = NormalizadorNome.normalizar(nome);
+    }
+
     @Transient
     public int getIdade() {
         return Period.between(this.dataNascimento, LocalDate.now()).getYears();
@@ -0,0 +1,45 @@
+package br.com.ibmec.gerenciador_clientes.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Quantidade de clientes e de endereços por estado/cidade, mantida de forma
+ * incremental pelas operações de cliente e endereço (EstatisticaService) e
+ * recalculada periodicamente a partir da tabela de endereços.
+ */
+@Entity
+@Table(name = "contagem_regiao", uniqueConstraints =
+        @UniqueConstraint(name = ContagemRegiao.UK_REGIAO, columnNames = {"estado", "cidade"}))
+@Data
+@NoArgsConstructor
+public class ContagemRegiao {
+
+    public static final String UK_REGIAO = "uk_contagem_regiao";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contagem_regiao_seq")
+    @SequenceGenerator(name = "contagem_regiao_seq", sequenceName = "contagem_regiao_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 2)
+    private String estado;
+
+    @Column(nullable = false, length = 100)
+    private String cidade;
+
+    // Clientes distintos com pelo menos um endereço na região
+    @Column(nullable = false)
+    private Long clientes;
+
+    @Column(nullable = false)
+    private Long enderecos;
+
+    // Usado também pelas projeções JPQL (select new ...) que agrupam os endereços por região
+    public ContagemRegiao(String estado, String cidade, Long clientes, Long enderecos) {
+        this.estado = estado;
+        this.cidade = cidade;
+        this.clientes = clientes;
+        this.enderecos = enderecos;
+    }
+}
@@ -4,16 +4,25 @@ package br.com.ibmec.gerenciador_clientes.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_endereco_cep", columnList = "cep"),
+        // Listagem dos endereços de um cliente com paginação keyset: cliente_id = ? and id > cursor order by id
+        @Index(name = "idx_endereco_cliente", columnList = "cliente_id, id")
+})
+// O UPDATE inclui apenas as colunas alteradas
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_seq")
+    @SequenceGenerator(name = "endereco_seq", sequenceName = "endereco_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "A rua é obrigatória.")
@@ -36,9 +45,10 @@ public class Endereco {
     @Pattern(regexp = "AC|AL|AP|AM|BA|CE|DF|ES|GO|MA|MT|MS|MG|PA|PB|PR|PE|PI|RJ|RN|RS|RO|RR|SC|SP|SE|TO", message = "O estado deve ser uma UF válida.")
     private String estado;
 
-    @NotBlank(message = "O CEP é obrigatório.")
-    @Pattern(regexp = "\\d{5}-\\d{3}", message = "O CEP deve seguir o padrão XXXXX-XXX.")
-    private String cep;
+    // Gravado como número (sem o hífen); a formatação fica no EnderecoDTO
+    @NotNull(message = "O CEP é obrigatório.")
+    @Max(value = 99999999, message = "O CEP deve ter 8 dígitos.")
+    private Integer cep;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
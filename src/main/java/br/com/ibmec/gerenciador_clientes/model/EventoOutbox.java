@@ -0,0 +1,52 @@
+package br.com.ibmec.gerenciador_clientes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Evento de alteração gravado na mesma transação que a alteração (transactional outbox)
+ * e removido pelo RelayOutbox depois de publicado.
+ */
+@Entity
+@Table(name = "evento_outbox", indexes = @Index(name = "idx_evento_outbox_cliente_versao", columnList = "cliente_id, versao"))
+@Data
+@NoArgsConstructor
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoEvento tipo;
+
+    @Column(nullable = false)
+    private Long clienteId;
+
+    private Long enderecoId;
+
+    // Versão do cliente após a alteração: ordena os eventos de um mesmo cliente e identifica reenvios
+    @Column(nullable = false)
+    private Long versao;
+
+    // Representação (JSON) do cliente ou do endereço após a alteração; nula nas remoções
+    @Lob
+    private String dados;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+
+    public EventoOutbox(TipoEvento tipo, Long clienteId, Long enderecoId, Long versao, String dados, Instant criadoEm) {
+        this.tipo = tipo;
+        this.clienteId = clienteId;
+        this.enderecoId = enderecoId;
+        this.versao = versao;
+        this.dados = dados;
+        this.criadoEm = criadoEm;
+    }
+}
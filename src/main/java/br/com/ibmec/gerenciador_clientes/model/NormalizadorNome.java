@@ -0,0 +1,26 @@
+package br.com.ibmec.gerenciador_clientes.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma de comparação de nomes usada na busca: sem acentos, em minúsculas e com
+ * os espaços repetidos reduzidos a um ("  José  da Silva" → "jose da silva").
+ */
+public final class NormalizadorNome {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private NormalizadorNome() {
+    }
+
+    public static String normalizar(String nome) {
+        if (nome == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
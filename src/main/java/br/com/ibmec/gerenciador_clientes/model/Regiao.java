@@ -0,0 +1,5 @@
+package br.com.ibmec.gerenciador_clientes.model;
+
+// Estado e cidade de um endereço: chave das contagens por região
+public record Regiao(String estado, String cidade) {
+}
@@ -0,0 +1,11 @@
+package br.com.ibmec.gerenciador_clientes.model;
+
+// Tipos de evento de alteração publicados pelo outbox
+public enum TipoEvento {
+    CLIENTE_CRIADO,
+    CLIENTE_ATUALIZADO,
+    CLIENTE_REMOVIDO,
+    ENDERECO_CRIADO,
+    ENDERECO_ATUALIZADO,
+    ENDERECO_REMOVIDO
+}
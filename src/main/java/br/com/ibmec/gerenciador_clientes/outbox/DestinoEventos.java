@@ -0,0 +1,16 @@
+package br.com.ibmec.gerenciador_clientes.outbox;
+
+import br.com.ibmec.gerenciador_clientes.dto.EventoDTO;
+
+import java.util.List;
+
+/**
+ * Para onde o RelayOutbox publica os eventos (arquivo, memória, ou um broker).
+ * Só deve retornar depois que o lote estiver gravado de forma durável: o retorno
+ * autoriza a remoção dos eventos do outbox. Uma exceção faz o lote inteiro ser
+ * reenviado depois, então o destino pode receber eventos repetidos.
+ */
+public interface DestinoEventos {
+
+    void publicar(List<EventoDTO> eventos) throws Exception;
+}
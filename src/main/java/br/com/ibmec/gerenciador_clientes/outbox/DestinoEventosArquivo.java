@@ -0,0 +1,76 @@
+package br.com.ibmec.gerenciador_clientes.outbox;
+
+import br.com.ibmec.gerenciador_clientes.dto.EventoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Acrescenta os eventos a um arquivo NDJSON (um evento por linha), com fsync ao final de cada lote.
+ * Quando o lote passaria de tamanhoMaximo bytes, o arquivo é renomeado para arquivo.1 (o anterior
+ * vira arquivo.2, e assim por diante) e só os arquivosMantidos mais recentes são guardados.
+ */
+public class DestinoEventosArquivo implements DestinoEventos {
+
+    private final Path arquivo;
+    private final ObjectWriter writer;
+    private final long tamanhoMaximo;
+    private final int arquivosMantidos;
+
+    public DestinoEventosArquivo(Path arquivo, ObjectMapper objectMapper, long tamanhoMaximo, int arquivosMantidos) {
+        this.arquivo = arquivo;
+        this.writer = objectMapper.writerFor(EventoDTO.class);
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.arquivosMantidos = arquivosMantidos;
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoDTO> eventos) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        for (EventoDTO evento : eventos) {
+            linhas.append(writer.writeValueAsString(evento)).append('\n');
+        }
+        byte[] bytes = linhas.toString().getBytes(StandardCharsets.UTF_8);
+        rotacionarSeNecessario(bytes.length);
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+        }
+    }
+
+    // Um lote nunca é dividido entre dois arquivos
+    private void rotacionarSeNecessario(long tamanhoLote) throws IOException {
+        long tamanhoAtual = Files.exists(arquivo) ? Files.size(arquivo) : 0;
+        if (tamanhoAtual == 0 || tamanhoAtual + tamanhoLote <= tamanhoMaximo) {
+            return;
+        }
+        if (arquivosMantidos == 0) {
+            Files.delete(arquivo);
+            return;
+        }
+        Files.deleteIfExists(rotacionado(arquivosMantidos));
+        for (int i = arquivosMantidos - 1; i >= 1; i--) {
+            if (Files.exists(rotacionado(i))) {
+                Files.move(rotacionado(i), rotacionado(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(arquivo, rotacionado(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotacionado(int indice) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + indice);
+    }
+}
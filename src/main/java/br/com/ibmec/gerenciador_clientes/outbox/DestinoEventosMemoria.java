@@ -0,0 +1,25 @@
+package br.com.ibmec.gerenciador_clientes.outbox;
+
+import br.com.ibmec.gerenciador_clientes.dto.EventoDTO;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Guarda os eventos publicados em memória (testes e desenvolvimento): outbox.destino=memoria
+public class DestinoEventosMemoria implements DestinoEventos {
+
+    private final List<EventoDTO> eventos = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(List<EventoDTO> lote) {
+        eventos.addAll(lote);
+    }
+
+    public List<EventoDTO> getEventos() {
+        return List.copyOf(eventos);
+    }
+
+    public void limpar() {
+        eventos.clear();
+    }
+}
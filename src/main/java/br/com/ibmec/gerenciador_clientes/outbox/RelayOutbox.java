@@ -0,0 +1,110 @@
+package br.com.ibmec.gerenciador_clientes.outbox;
+
+import br.com.ibmec.gerenciador_clientes.dto.EventoDTO;
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import br.com.ibmec.gerenciador_clientes.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publica os eventos do outbox em lotes, na ordem de versão de cada cliente, e os remove depois
+ * que o destino confirma. As versões de um cliente são confirmadas em ordem (a alteração bloqueia
+ * a linha do cliente), então um lote nunca traz uma versão sem as anteriores ainda pendentes.
+ * Entrega pelo menos uma vez: se o destino falhar, ou a aplicação parar entre a publicação
+ * e o commit, o lote é reenviado; os consumidores descartam repetições por (clienteId, versao).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class RelayOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelayOutbox.class);
+
+    public static final String METRICA_PENDENTES = "clientes.outbox.pendentes";
+    public static final String METRICA_ATRASO = "clientes.outbox.atraso";
+    public static final String METRICA_ENTREGA = "clientes.outbox.entrega";
+    public static final String METRICA_FALHAS = "clientes.outbox.falhas";
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final DestinoEventos destino;
+    private final TransactionTemplate transacao;
+    private final Clock clock;
+    private final int tamanhoLote;
+
+    private final Timer entrega;
+    private final Counter falhas;
+
+    public RelayOutbox(EventoOutboxRepository eventoOutboxRepository, DestinoEventos destino,
+                       PlatformTransactionManager transactionManager, MeterRegistry registry, Clock clock,
+                       @Value("${outbox.relay.lote:100}") int tamanhoLote) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.destino = destino;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.tamanhoLote = tamanhoLote;
+
+        this.entrega = Timer.builder(METRICA_ENTREGA)
+                .description("Tempo entre a gravação do evento no outbox e a sua publicação")
+                .register(registry);
+        this.falhas = Counter.builder(METRICA_FALHAS)
+                .description("Lotes do outbox que o destino não aceitou")
+                .register(registry);
+        Gauge.builder(METRICA_PENDENTES, eventoOutboxRepository, EventoOutboxRepository::count)
+                .description("Eventos aguardando publicação")
+                .register(registry);
+        Gauge.builder(METRICA_ATRASO, this, RelayOutbox::atrasoEmSegundos)
+                .description("Idade do evento pendente mais antigo")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // Publica lotes até esvaziar o outbox ou o destino falhar
+    @Scheduled(fixedDelayString = "${outbox.relay.intervalo-ms:1000}")
+    public void drenar() {
+        Integer publicados;
+        do {
+            publicados = transacao.execute(status -> publicarLote());
+        } while (publicados != null && publicados == tamanhoLote);
+    }
+
+    private int publicarLote() {
+        List<EventoOutbox> eventos = eventoOutboxRepository.findByOrderByClienteIdAscVersaoAsc(Limit.of(tamanhoLote));
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        try {
+            destino.publicar(eventos.stream().map(EventoDTO::new).toList());
+        } catch (Exception e) {
+            // Nada foi removido: o lote continua no outbox e é reenviado na próxima execução
+            falhas.increment();
+            logger.warn("Falha ao publicar {} eventos do outbox: {}", eventos.size(), e.getMessage());
+            return 0;
+        }
+        Instant agora = Instant.now(clock);
+        eventos.forEach(evento -> entrega.record(Duration.between(evento.getCriadoEm(), agora)));
+        eventoOutboxRepository.deleteAllByIdInBatch(eventos.stream().map(EventoOutbox::getId).toList());
+        logger.debug("Outbox: {} eventos publicados", eventos.size());
+        return eventos.size();
+    }
+
+    private double atrasoEmSegundos() {
+        return eventoOutboxRepository.findCriadoEmMaisAntigo()
+                .map(criadoEm -> Duration.between(criadoEm, Instant.now(clock)).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.ibmec.gerenciador_clientes.pagination;
+
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Codifica e decodifica cursores opacos de paginação keyset.
+ * O cursor carrega a ordenação usada e os valores das chaves do último item
+ * retornado, de modo que a próxima página é buscada com um predicado de faixa
+ * sobre o índice, sem OFFSET.
+ */
+public final class Cursor {
+
+    private static final char SEPARADOR = '&';
+
+    private Cursor() {
+    }
+
+    public record Posicao(Sort ordenacao, KeysetScrollPosition posicao) {
+    }
+
+    public static Posicao inicio(Sort ordenacao) {
+        return new Posicao(ordenacao, ScrollPosition.keyset());
+    }
+
+    public static <T> Pagina<T> pagina(Window<T> janela, Sort ordenacao) {
+        String proximo = null;
+        if (janela.hasNext() && !janela.isEmpty()) {
+            proximo = codificar(ordenacao, (KeysetScrollPosition) janela.positionAt(janela.size() - 1));
+        }
+        return new Pagina<>(janela.getContent(), proximo);
+    }
+
+    public static String codificar(Sort ordenacao, KeysetScrollPosition posicao) {
+        StringBuilder sb = new StringBuilder();
+        for (Sort.Order ordem : ordenacao) {
+            anexar(sb, "s:" + ordem.getProperty() + ":" + ordem.getDirection().name());
+        }
+        for (Map.Entry<String, Object> chave : posicao.getKeys().entrySet()) {
+            Object valor = chave.getValue();
+            anexar(sb, "k:" + chave.getKey() + ":" + tipo(valor) + ":"
+                    + URLEncoder.encode(String.valueOf(valor), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Posicao decodificar(String cursor, Set<String> propriedadesPermitidas) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<Sort.Order> ordens = new ArrayList<>();
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            for (String parte : conteudo.split(String.valueOf(SEPARADOR))) {
+                String[] campos = parte.split(":", 4);
+                String propriedade = campos[1];
+                if (!propriedadesPermitidas.contains(propriedade)) {
+                    throw new IllegalArgumentException(propriedade);
+                }
+                if ("s".equals(campos[0]) && campos.length == 3) {
+                    ordens.add(new Sort.Order(Sort.Direction.valueOf(campos[2]), propriedade));
+                } else if ("k".equals(campos[0]) && campos.length == 4) {
+                    chaves.put(propriedade, valor(campos[2], URLDecoder.decode(campos[3], StandardCharsets.UTF_8)));
+                } else {
+                    throw new IllegalArgumentException(parte);
+                }
+            }
+            if (ordens.isEmpty() || chaves.isEmpty()) {
+                throw new IllegalArgumentException(conteudo);
+            }
+            return new Posicao(Sort.by(ordens), ScrollPosition.forward(chaves));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new InvalidRequestException("Cursor de paginação inválido.");
+        }
+    }
+
+    private static void anexar(StringBuilder sb, String parte) {
+        if (!sb.isEmpty()) {
+            sb.append(SEPARADOR);
+        }
+        sb.append(parte);
+    }
+
+    private static char tipo(Object valor) {
+        if (valor instanceof Long) {
+            return 'L';
+        }
+        if (valor instanceof Integer) {
+            return 'I';
+        }
+        if (valor instanceof LocalDate) {
+            return 'D';
+        }
+        if (valor instanceof String) {
+            return 'S';
+        }
+        throw new IllegalStateException("Tipo de chave de cursor não suportado: " + valor.getClass());
+    }
+
+    private static Object valor(String tipo, String valor) {
+        return switch (tipo) {
+            case "L" -> Long.valueOf(valor);
+            case "I" -> Integer.valueOf(valor);
+            case "D" -> LocalDate.parse(valor);
+            case "S" -> valor;
+            default -> throw new IllegalArgumentException(tipo);
+        };
+    }
+}
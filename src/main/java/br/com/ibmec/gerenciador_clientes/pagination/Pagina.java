@@ -0,0 +1,15 @@
+package br.com.ibmec.gerenciador_clientes.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginados por cursor (keyset).
+ * O campo {@code proximo} é nulo quando não há mais resultados.
+ */
+public record Pagina<T>(List<T> itens, String proximo) {
+
+    public <R> Pagina<R> map(Function<? super T, ? extends R> conversor) {
+        return new Pagina<>(itens.stream().<R>map(conversor).toList(), proximo);
+    }
+}
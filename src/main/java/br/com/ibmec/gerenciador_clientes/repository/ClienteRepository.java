@@ -1,13 +1,82 @@
 package br.com.ibmec.gerenciador_clientes.repository;
 
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByEmail(String email);
-    Optional<Cliente> findByCpf(String cpf);
     boolean existsByEmail(String email);
-    boolean existsByCpf(String cpf);
-}
\ No newline at end of file
+    boolean existsByCpf(Long cpf);
+
+    // Consultas pelos índices de CPF (único) e telefone, já com os endereços
+    @EntityGraph(attributePaths = "enderecos")
+    Optional<Cliente> findByCpf(Long cpf);
+
+    @EntityGraph(attributePaths = "enderecos")
+    List<Cliente> findByTelefoneOrderById(Long telefone);
+
+    // Verificação de unicidade em lote (importação): um único SELECT ... IN para todo o lote
+    @Query("select c.email from Cliente c where c.email in :emails")
+    List<String> findEmailsCadastrados(@Param("emails") Collection<String> emails);
+
+    @Query("select c.cpf from Cliente c where c.cpf in :cpfs")
+    List<Long> findCpfsCadastrados(@Param("cpfs") Collection<Long> cpfs);
+
+    // Consulta por lista de IDs (ClienteService.buscarPorIds): um SELECT ... IN por lote; os endereços
+    // vêm em seguida, também em lote (@BatchSize em Cliente.enderecos)
+    List<Cliente> findByIdIn(Collection<Long> ids);
+
+    // Busca o cliente já com os endereços em um único SELECT (LEFT JOIN)
+    @EntityGraph(attributePaths = "enderecos")
+    Optional<Cliente> findComEnderecosById(Long id);
+
+    // Paginação keyset: a posição vira um predicado de faixa sobre as chaves de ordenação (sempre com o id no final)
+    // Os endereços da página são carregados depois, em lote (@BatchSize em Cliente.enderecos)
+    Window<Cliente> findAllBy(ScrollPosition posicao, Sort ordenacao, Limit limite);
+
+    // Busca por prefixo do nome normalizado: LIKE 'prefixo%' sobre o índice (nome_normalizado, id)
+    Window<Cliente> findByNomeNormalizadoStartingWith(String prefixo, ScrollPosition posicao, Sort ordenacao, Limit limite);
+
+    // Filtro por idade (ClienteService.listarTodos): a idade mínima e a máxima viram limites da data de nascimento
+    Window<Cliente> findByDataNascimentoLessThanEqual(LocalDate nascidoAte, ScrollPosition posicao, Sort ordenacao, Limit limite);
+
+    Window<Cliente> findByDataNascimentoGreaterThanAndDataNascimentoLessThanEqual(
+            LocalDate nascidoApos, LocalDate nascidoAte, ScrollPosition posicao, Sort ordenacao, Limit limite);
+
+    // Clientes gravados antes da coluna nome_normalizado existir
+    List<Cliente> findTop500ByNomeNormalizadoIsNull();
+
+    @Query("select c.versao from Cliente c where c.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // Os endereços fazem parte da representação do cliente: alterá-los muda a versão (ETag)
+    @Modifying(flushAutomatically = true)
+    @Query("update Cliente c set c.versao = c.versao + 1 where c.id = :id")
+    int incrementarVersao(@Param("id") Long id);
+
+    // Exportação: percorre a tabela inteira por um cursor do banco, lendo 500 linhas por vez.
+    // Os endereços vêm no mesmo SELECT; a ordenação por id mantém as linhas de cada cliente juntas
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Cliente c left join fetch c.enderecos order by c.id")
+    Stream<Cliente> streamComEnderecos();
+}
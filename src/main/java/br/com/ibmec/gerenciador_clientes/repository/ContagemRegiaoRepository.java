@@ -0,0 +1,40 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+import br.com.ibmec.gerenciador_clientes.dto.ContagemRegiaoDTO;
+import br.com.ibmec.gerenciador_clientes.model.ContagemRegiao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ContagemRegiaoRepository extends JpaRepository<ContagemRegiao, Long>, ContagemRegiaoRepositoryCustom {
+
+    // Incremento atômico no banco; 0 linhas = região ainda sem contador (ver criarOuSomar)
+    @Modifying
+    @Query("update ContagemRegiao c set c.clientes = c.clientes + :clientes, c.enderecos = c.enderecos + :enderecos "
+            + "where c.estado = :estado and c.cidade = :cidade")
+    int somar(@Param("estado") String estado, @Param("cidade") String cidade,
+              @Param("clientes") long clientes, @Param("enderecos") long enderecos);
+
+    // Recálculo: zera os contadores sem removê-los; as linhas ficam bloqueadas até o fim da transação
+    @Modifying
+    @Query("update ContagemRegiao c set c.clientes = 0, c.enderecos = 0")
+    int zerar();
+
+    // Recálculo: grava o valor apurado; 0 linhas = região ainda sem contador
+    @Modifying
+    @Query("update ContagemRegiao c set c.clientes = :clientes, c.enderecos = :enderecos "
+            + "where c.estado = :estado and c.cidade = :cidade")
+    int definir(@Param("estado") String estado, @Param("cidade") String cidade,
+                @Param("clientes") long clientes, @Param("enderecos") long enderecos);
+
+    // Leitura do painel: uma linha por região, sem tocar nas tabelas de clientes e endereços
+    @Query("select new br.com.ibmec.gerenciador_clientes.dto.ContagemRegiaoDTO(c.estado, c.cidade, c.clientes, c.enderecos) "
+            + "from ContagemRegiao c where c.enderecos > 0 and (:estado is null or c.estado = :estado) "
+            + "order by c.estado, c.cidade")
+    List<ContagemRegiaoDTO> listar(@Param("estado") String estado);
+}
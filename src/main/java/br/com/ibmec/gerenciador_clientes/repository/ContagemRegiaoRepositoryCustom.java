@@ -0,0 +1,7 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+public interface ContagemRegiaoRepositoryCustom {
+
+    // Cria o contador da região já com os valores informados, ou soma a eles se a região já existe
+    void criarOuSomar(String estado, String cidade, long clientes, long enderecos);
+}
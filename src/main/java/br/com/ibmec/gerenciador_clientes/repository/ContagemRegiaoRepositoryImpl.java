@@ -0,0 +1,74 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+import br.com.ibmec.gerenciador_clientes.model.ContagemRegiao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Inclusão do contador de uma região nova na transação e na conexão de quem chama: nada de uma
+ * segunda conexão do pool por alteração de endereço. Só SQL padrão (INSERT e UPDATE), que roda em qualquer banco.
+ */
+public class ContagemRegiaoRepositoryImpl implements ContagemRegiaoRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContagemRegiaoRepositoryImpl.class);
+
+    private static final String INSERIR = "insert into contagem_regiao (id, estado, cidade, clientes, enderecos) "
+            + "values (?, ?, ?, ?, ?)";
+
+    private static final String SOMAR = "update contagem_regiao set clientes = clientes + ?, enderecos = enderecos + ? "
+            + "where estado = ? and cidade = ?";
+
+    // Classe SQLState 23: violação de restrição de integridade (a chave única de estado/cidade)
+    private static final String VIOLACAO_INTEGRIDADE = "23";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void criarOuSomar(String estado, String cidade, long clientes, long enderecos) {
+        SessionImplementor sessao = entityManager.unwrap(SessionImplementor.class);
+        // O id vem do gerador da entidade (sequência com pooled, ou tabela nos bancos sem sequência),
+        // o mesmo usado por um persist, para que os dois nunca entreguem o mesmo valor
+        Object id = sessao.getFactory().getMappingMetamodel().getEntityDescriptor(ContagemRegiao.class)
+                .getIdentifierGenerator().generate(sessao, new ContagemRegiao(estado, cidade, clientes, enderecos));
+
+        // JDBC direto: uma falha tratada aqui não marca a transação JPA para rollback
+        sessao.doWork(conexao -> {
+            Savepoint antesDaInclusao = conexao.setSavepoint();
+            try (PreparedStatement insercao = conexao.prepareStatement(INSERIR)) {
+                insercao.setLong(1, ((Number) id).longValue());
+                insercao.setString(2, estado);
+                insercao.setString(3, cidade);
+                insercao.setLong(4, clientes);
+                insercao.setLong(5, enderecos);
+                insercao.executeUpdate();
+                conexao.releaseSavepoint(antesDaInclusao);
+                return;
+            } catch (SQLException e) {
+                if (e.getSQLState() == null || !e.getSQLState().startsWith(VIOLACAO_INTEGRIDADE)) {
+                    throw e;
+                }
+                // Outra transação criou a mesma região ao mesmo tempo. Voltar ao savepoint desfaz só a inclusão
+                // (em qualquer banco, inclusive os que abortam a transação após um erro) e a linha dela recebe a soma
+                conexao.rollback(antesDaInclusao);
+                logger.debug("Contador da região {}/{} criado por outra transação", estado, cidade);
+            }
+            try (PreparedStatement soma = conexao.prepareStatement(SOMAR)) {
+                soma.setLong(1, clientes);
+                soma.setLong(2, enderecos);
+                soma.setString(3, estado);
+                soma.setString(4, cidade);
+                soma.executeUpdate();
+            }
+        });
+    }
+}
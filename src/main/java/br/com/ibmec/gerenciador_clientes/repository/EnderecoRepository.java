@@ -1,10 +1,20 @@
 package br.com.ibmec.gerenciador_clientes.repository;
 
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.model.ContagemRegiao;
 import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.Regiao;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
@@ -12,6 +22,41 @@ public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
     // Metodo para encontrar endereços por ID do cliente
     List<Endereco> findByClienteId(Long clienteId);
 
-    // Verifica se um endereço pertence a um cliente específico
-    boolean existsByIdAndClienteId(Long enderecoId, Long clienteId);
+    // Página de endereços (keyset pelo id) projetada direto no DTO, sem carregar o cliente nem entidades gerenciadas
+    @Query("select new br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO(e.id, e.rua, e.numero, e.bairro, e.cidade, e.estado, e.cep) "
+            + "from Endereco e where e.cliente.id = :clienteId and e.id > :aposId order by e.id")
+    List<EnderecoDTO> listarDoCliente(@Param("clienteId") Long clienteId, @Param("aposId") Long aposId, Limit limite);
+
+    // Busca o endereço somente se ele pertencer ao cliente
+    Optional<Endereco> findByIdAndClienteId(Long enderecoId, Long clienteId);
+
+    // Região atual do endereço, somente se ele pertencer ao cliente. Lida com a linha bloqueada (for update), para
+    // que outra alteração do mesmo endereço não mude a região entre esta leitura e o UPDATE/DELETE seguinte
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new br.com.ibmec.gerenciador_clientes.model.Regiao(e.estado, e.cidade) "
+            + "from Endereco e where e.id = :enderecoId and e.cliente.id = :clienteId")
+    Optional<Regiao> findRegiaoDoCliente(@Param("enderecoId") Long enderecoId, @Param("clienteId") Long clienteId);
+
+    long countByClienteIdAndEstadoAndCidade(Long clienteId, String estado, String cidade);
+
+    // Contagens por região calculadas a partir dos endereços: de um cliente (remoção) ou de todos (recálculo)
+    @Query("select new br.com.ibmec.gerenciador_clientes.model.ContagemRegiao(e.estado, e.cidade, count(distinct e.cliente.id), count(e)) "
+            + "from Endereco e where e.cliente.id = :clienteId group by e.estado, e.cidade")
+    List<ContagemRegiao> contarPorRegiaoDoCliente(@Param("clienteId") Long clienteId);
+
+    @Query("select new br.com.ibmec.gerenciador_clientes.model.ContagemRegiao(e.estado, e.cidade, count(distinct e.cliente.id), count(e)) "
+            + "from Endereco e group by e.estado, e.cidade")
+    List<ContagemRegiao> contarPorRegiao();
+
+    // Atualização em um único comando, restrita ao dono do endereço: 0 linhas = não existe ou não pertence ao cliente
+    @Modifying
+    @Query("update Endereco e set e.rua = :#{#endereco.rua}, e.numero = :#{#endereco.numero}, e.bairro = :#{#endereco.bairro}, "
+            + "e.cidade = :#{#endereco.cidade}, e.estado = :#{#endereco.estado}, e.cep = :#{#endereco.cep} "
+            + "where e.id = :enderecoId and e.cliente.id = :clienteId")
+    int atualizarDoCliente(@Param("enderecoId") Long enderecoId, @Param("clienteId") Long clienteId,
+                           @Param("endereco") Endereco endereco);
+
+    @Modifying
+    @Query("delete from Endereco e where e.id = :enderecoId and e.cliente.id = :clienteId")
+    int deletarDoCliente(@Param("enderecoId") Long enderecoId, @Param("clienteId") Long clienteId);
 }
@@ -0,0 +1,25 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Lote de eventos pendentes na ordem de versão de cada cliente. O id não serve: com várias instâncias,
+    // cada uma reserva um bloco da sequência e os ids não seguem a ordem dos commits. O bloqueio impede que
+    // outra instância publique o mesmo lote em paralelo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<EventoOutbox> findByOrderByClienteIdAscVersaoAsc(Limit limite);
+
+    // Atraso do outbox: criação do evento pendente mais antigo
+    @Query("select min(e.criadoEm) from EventoOutbox e")
+    Optional<Instant> findCriadoEmMaisAntigo();
+}
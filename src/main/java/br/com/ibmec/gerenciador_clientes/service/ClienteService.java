@@ -1,72 +1,255 @@
 package br.com.ibmec.gerenciador_clientes.service;
 
+import br.com.ibmec.gerenciador_clientes.config.CacheConfig;
+import br.com.ibmec.gerenciador_clientes.datasource.JanelaLeituraPropria;
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ConsultaClientesDTO;
 import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
 import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.exception.PreconditionFailedException;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.FormatoDocumento;
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.NormalizadorNome;
+import br.com.ibmec.gerenciador_clientes.pagination.Cursor;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class ClienteService {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteService.class);
 
+    public static final int TAMANHO_PAGINA_PADRAO = 20;
+    public static final int TAMANHO_PAGINA_MAXIMO = 100;
+
+    // Consulta por lista de IDs: máximo de IDs por chamada e IDs por SELECT ... IN (o mesmo @BatchSize dos endereços)
+    public static final int MAXIMO_IDS_CONSULTA = 1000;
+    static final int LOTE_CONSULTA_IDS = 100;
+
+    // Maior idade aceita nos filtros: evita datas fora do intervalo do LocalDate (e do banco)
+    public static final int IDADE_MAXIMA = 150;
+
+    // Campos aceitos como chave de ordenação; o id é sempre usado como desempate
+    public static final Set<String> ORDENACOES_PERMITIDAS = Set.of("id", "nome", "email", "dataNascimento");
+
+    private static final String MENSAGEM_VERSAO_DESATUALIZADA =
+            "O cliente foi alterado por outra requisição; busque a versão atual e reenvie a alteração.";
+
+    private static final Sort ORDENACAO_BUSCA = Sort.by("nomeNormalizado", "id");
+    private static final Set<String> CHAVES_BUSCA = Set.of("nomeNormalizado", "id");
+
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private JanelaLeituraPropria janelaLeituraPropria;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ClienteMapper clienteMapper;
+
+    // idadeMin e idadeMax (opcionais, em anos completos) são aplicados no banco como faixa de data de nascimento;
+    // o cursor não guarda o filtro, que deve ser repetido em cada página
     @Transactional(readOnly = true)
-    public List<Cliente> listarTodos() {
-        logger.info("Listando todos os clientes");
-        return clienteRepository.findAll();
+    public Pagina<Cliente> listarTodos(String cursor, String ordenarPor, Sort.Direction direcao, int tamanho,
+                                       Integer idadeMin, Integer idadeMax) {
+        validarFaixaDeIdade(idadeMin, idadeMax);
+        Cursor.Posicao posicao = cursor != null
+                ? Cursor.decodificar(cursor, ORDENACOES_PERMITIDAS)
+                : Cursor.inicio(ordenacao(ordenarPor, direcao));
+        Limit limite = limite(tamanho);
+        logger.debug("Listando clientes: ordenação {}, tamanho {}, idade entre {} e {}",
+                posicao.ordenacao(), limite.max(), idadeMin, idadeMax);
+        Window<Cliente> janela = janela(idadeMin, idadeMax, posicao, limite);
+        return pagina(janela, posicao.ordenacao());
+    }
+
+    private Window<Cliente> janela(Integer idadeMin, Integer idadeMax, Cursor.Posicao posicao, Limit limite) {
+        if (idadeMin == null && idadeMax == null) {
+            return clienteRepository.findAllBy(posicao.posicao(), posicao.ordenacao(), limite);
+        }
+        LocalDate hoje = LocalDate.now(clock);
+        // idade >= idadeMin  <=>  nasceu até hoje - idadeMin anos
+        LocalDate nascidoAte = idadeMin == null ? hoje : hoje.minusYears(idadeMin);
+        if (idadeMax == null) {
+            return clienteRepository.findByDataNascimentoLessThanEqual(
+                    nascidoAte, posicao.posicao(), posicao.ordenacao(), limite);
+        }
+        // idade <= idadeMax  <=>  nasceu depois de hoje - (idadeMax + 1) anos
+        LocalDate nascidoApos = hoje.minusYears(idadeMax + 1L);
+        return clienteRepository.findByDataNascimentoGreaterThanAndDataNascimentoLessThanEqual(
+                nascidoApos, nascidoAte, posicao.posicao(), posicao.ordenacao(), limite);
     }
 
+    private static void validarFaixaDeIdade(Integer idadeMin, Integer idadeMax) {
+        if ((idadeMin != null && idadeMin < 0) || (idadeMax != null && idadeMax < 0)) {
+            throw new InvalidRequestException("A idade não pode ser negativa.");
+        }
+        if ((idadeMin != null && idadeMin > IDADE_MAXIMA) || (idadeMax != null && idadeMax > IDADE_MAXIMA)) {
+            throw new InvalidRequestException("A idade não pode ser maior que " + IDADE_MAXIMA + " anos.");
+        }
+        if (idadeMin != null && idadeMax != null && idadeMin > idadeMax) {
+            throw new InvalidRequestException("A idade mínima não pode ser maior que a idade máxima.");
+        }
+    }
+
+    // Busca por prefixo do nome, sem diferenciar maiúsculas nem acentos, ordenada pelo nome normalizado
+    @Transactional(readOnly = true)
+    public Pagina<Cliente> buscarPorNome(String termo, String cursor, int tamanho) {
+        String prefixo = NormalizadorNome.normalizar(termo);
+        if (prefixo.isEmpty()) {
+            throw new InvalidRequestException("O termo de busca é obrigatório.");
+        }
+        Cursor.Posicao posicao = cursor != null
+                ? Cursor.decodificar(cursor, CHAVES_BUSCA)
+                : Cursor.inicio(ORDENACAO_BUSCA);
+        Limit limite = limite(tamanho);
+        logger.debug("Buscando clientes por nome: prefixo '{}', tamanho {}", prefixo, limite.max());
+        Window<Cliente> janela = clienteRepository.findByNomeNormalizadoStartingWith(
+                prefixo, posicao.posicao(), posicao.ordenacao(), limite);
+        return pagina(janela, posicao.ordenacao());
+    }
+
+    private static Limit limite(int tamanho) {
+        return Limit.of(Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO)));
+    }
+
+    private static Pagina<Cliente> pagina(Window<Cliente> janela, Sort ordenacao) {
+        // A primeira inicialização dispara o carregamento em lote dos endereços de toda a página
+        janela.forEach(cliente -> Hibernate.initialize(cliente.getEnderecos()));
+        return Cursor.pagina(janela, ordenacao);
+    }
+
+    // A instância em cache é compartilhada entre requisições (desanexada, com os endereços já carregados)
+    // e deve ser tratada como somente leitura
+    @Cacheable(cacheNames = CacheConfig.CLIENTES, key = "#id")
     @Transactional(readOnly = true)
     public Cliente buscarPorId(Long id) {
         logger.debug("Buscando cliente com ID: {}", id);
-        return clienteRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.error("Cliente não encontrado com ID: {}", id);
-                    return new ResourceNotFoundException("Cliente não encontrado com o ID: " + id);
-                });
+        janelaLeituraPropria.lerDoPrimarioSeAlterado(id);
+        // Sem log por ocorrência: os 404 são contados e resumidos pelo GlobalExceptionHandler
+        return clienteRepository.findComEnderecosById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + id));
+    }
+
+    /**
+     * Busca vários clientes, com os endereços, em consultas IN de até {@link #LOTE_CONSULTA_IDS} IDs
+     * (mais uma consulta de endereços por lote). Os clientes voltam na ordem dos IDs pedidos, sem
+     * repetições, e os IDs inexistentes são informados em naoEncontrados em vez de falhar a consulta.
+     */
+    @Transactional(readOnly = true)
+    public ConsultaClientesDTO buscarPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAXIMO_IDS_CONSULTA) {
+            throw new InvalidRequestException("Informe de 1 a " + MAXIMO_IDS_CONSULTA + " IDs.");
+        }
+        Set<Long> unicos = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new InvalidRequestException("A lista de IDs não pode conter valores nulos.");
+            }
+            unicos.add(id);
+        }
+        List<Long> distintos = new ArrayList<>(unicos);
+        janelaLeituraPropria.lerDoPrimarioSeAlgumAlterado(distintos);
+        logger.debug("Buscando {} clientes por ID", distintos.size());
+
+        Map<Long, Cliente> encontrados = new HashMap<>(distintos.size() * 2);
+        for (int inicio = 0; inicio < distintos.size(); inicio += LOTE_CONSULTA_IDS) {
+            List<Cliente> lote = clienteRepository.findByIdIn(
+                    distintos.subList(inicio, Math.min(inicio + LOTE_CONSULTA_IDS, distintos.size())));
+            for (Cliente cliente : lote) {
+                // O primeiro acesso carrega os endereços de todo o lote em uma consulta
+                Hibernate.initialize(cliente.getEnderecos());
+                encontrados.put(cliente.getId(), cliente);
+            }
+        }
+
+        // Convertidos dentro da transação, com os endereços já carregados
+        List<ClienteDTO> clientes = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : distintos) {
+            Cliente cliente = encontrados.get(id);
+            if (cliente != null) {
+                clientes.add(clienteMapper.toDTO(cliente));
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new ConsultaClientesDTO(clientes, naoEncontrados);
+    }
+
+    @Transactional(readOnly = true)
+    public Cliente buscarPorCpf(String cpf) {
+        Long numero = FormatoDocumento.cpfParaNumero(cpf);
+        if (numero == null) {
+            throw new InvalidRequestException("O CPF é obrigatório.");
+        }
+        return clienteRepository.findByCpf(numero)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o CPF: " + FormatoDocumento.formatarCpf(numero)));
+    }
+
+    // Um mesmo telefone pode estar em mais de um cadastro
+    @Transactional(readOnly = true)
+    public List<Cliente> buscarPorTelefone(String telefone) {
+        Long numero = FormatoDocumento.telefoneParaNumero(telefone);
+        if (numero == null) {
+            throw new InvalidRequestException("O telefone é obrigatório.");
+        }
+        return clienteRepository.findByTelefoneOrderById(numero);
     }
 
     @Transactional
     public Cliente adicionar(Cliente cliente) {
         logger.debug("Adicionando novo cliente: {}", cliente.getEmail());
-        // Verificar unicidade de email e CPF
-        if (clienteRepository.existsByEmail(cliente.getEmail())) {
-            logger.warn("Email duplicado: {}", cliente.getEmail());
-            throw new DuplicateResourceException("Email já cadastrado: " + cliente.getEmail());
-        }
-        if (clienteRepository.existsByCpf(cliente.getCpf())) {
-            logger.warn("CPF duplicado: {}", cliente.getCpf());
-            throw new DuplicateResourceException("CPF já cadastrado: " + cliente.getCpf());
-        }
-        Cliente salvo = clienteRepository.save(cliente);
+        Cliente salvo = gravar(cliente);
+        estatisticaService.clientesAdicionados(List.of(salvo));
+        outboxService.clienteCriado(salvo);
         logger.info("Cliente adicionado com ID: {}", salvo.getId());
         return salvo;
     }
 
+    // versaoEsperada é a versão lida pelo cliente da API (If-Match); nula para não verificar
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#id")
     @Transactional
-    public Cliente atualizar(Long id, Cliente clienteAtualizado) {
-        Cliente salvo = clienteRepository.findById(id)
+    public Cliente atualizar(Long id, Cliente clienteAtualizado, Long versaoEsperada) {
+        Cliente salvo = clienteRepository.findComEnderecosById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + id));
-
-        if (!salvo.getEmail().equals(clienteAtualizado.getEmail()) &&
-                clienteRepository.existsByEmail(clienteAtualizado.getEmail())) {
-            throw new DuplicateResourceException("Email já cadastrado: " + clienteAtualizado.getEmail());
-        }
-
-        if (!salvo.getCpf().equals(clienteAtualizado.getCpf()) &&
-                clienteRepository.existsByCpf(clienteAtualizado.getCpf())) {
-            throw new DuplicateResourceException("CPF já cadastrado: " + clienteAtualizado.getCpf());
-        }
+        verificarVersao(salvo, versaoEsperada);
 
         // Atualizar campos necessários
         salvo.setNome(clienteAtualizado.getNome());
@@ -75,19 +258,124 @@ public class ClienteService {
         salvo.setDataNascimento(clienteAtualizado.getDataNascimento());
         salvo.setTelefone(clienteAtualizado.getTelefone());
 
-        return clienteRepository.save(salvo);
+        return gravarAlteracao(salvo);
     }
 
+    // PATCH: altera somente os campos enviados; o Hibernate grava apenas as colunas que mudaram
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#id")
+    @Transactional
+    public Cliente atualizarParcial(Long id, Cliente alteracoes, Set<String> campos, Long versaoEsperada) {
+        Cliente salvo = clienteRepository.findComEnderecosById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + id));
+        verificarVersao(salvo, versaoEsperada);
+
+        if (campos.contains("nome")) {
+            salvo.setNome(alteracoes.getNome());
+        }
+        if (campos.contains("email")) {
+            salvo.setEmail(alteracoes.getEmail());
+        }
+        if (campos.contains("cpf")) {
+            salvo.setCpf(alteracoes.getCpf());
+        }
+        if (campos.contains("dataNascimento")) {
+            salvo.setDataNascimento(alteracoes.getDataNascimento());
+        }
+        if (campos.contains("telefone")) {
+            salvo.setTelefone(alteracoes.getTelefone());
+        }
+
+        return gravarAlteracao(salvo);
+    }
 
+    // O evento de alteração só é registrado se algum valor mudou (a versão é incrementada no flush)
+    private Cliente gravarAlteracao(Cliente cliente) {
+        Long versaoAnterior = cliente.getVersao();
+        Cliente salvo = gravar(cliente);
+        if (!Objects.equals(versaoAnterior, salvo.getVersao())) {
+            outboxService.clienteAtualizado(salvo);
+        }
+        return salvo;
+    }
 
+    // Chamado pelas operações de endereço, que também mudam a versão (ETag) do cliente; retorna a nova versão
     @Transactional
-    public void deletar(Long id) {
-        boolean exists = clienteRepository.existsById(id);
-        if (!exists) {
-            logger.error("Cliente não encontrado com o ID: {}", id);
+    public long incrementarVersao(Long id) {
+        clienteRepository.incrementarVersao(id);
+        janelaLeituraPropria.registrarEscrita(id);
+        return clienteRepository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + id));
+    }
+
+    private static void verificarVersao(Cliente cliente, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(cliente.getVersao())) {
+            logger.warn("Versão desatualizada do cliente {}: esperada {}, atual {}", cliente.getId(), versaoEsperada, cliente.getVersao());
+            throw new PreconditionFailedException(MENSAGEM_VERSAO_DESATUALIZADA);
+        }
+    }
+
+    // A unicidade de email e CPF é garantida pelas restrições do banco: grava direto e traduz a violação
+    private Cliente gravar(Cliente cliente) {
+        try {
+            Cliente salvo = clienteRepository.saveAndFlush(cliente);
+            janelaLeituraPropria.registrarEscrita(salvo.getId());
+            return salvo;
+        } catch (OptimisticLockingFailureException e) {
+            // Outra transação gravou o cliente entre a leitura e o flush
+            logger.warn("Atualização concorrente do cliente {}", cliente.getId());
+            throw new PreconditionFailedException(MENSAGEM_VERSAO_DESATUALIZADA);
+        } catch (DataIntegrityViolationException e) {
+            String restricao = nomeDaRestricao(e);
+            if (restricao.contains(Cliente.UK_EMAIL)) {
+                logger.debug("Email duplicado: {}", cliente.getEmail());
+                throw new DuplicateResourceException("Email já cadastrado: " + cliente.getEmail());
+            }
+            if (restricao.contains(Cliente.UK_CPF)) {
+                logger.debug("CPF duplicado: {}", FormatoDocumento.formatarCpf(cliente.getCpf()));
+                throw new DuplicateResourceException("CPF já cadastrado: " + FormatoDocumento.formatarCpf(cliente.getCpf()));
+            }
+            throw e;
+        }
+    }
+
+    private static String nomeDaRestricao(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                return violacao.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem == null ? "" : mensagem.toLowerCase(Locale.ROOT);
+    }
+
+
+
+    private Sort ordenacao(String ordenarPor, Sort.Direction direcao) {
+        if (!ORDENACOES_PERMITIDAS.contains(ordenarPor)) {
+            throw new InvalidRequestException("Campo de ordenação inválido: " + ordenarPor);
+        }
+        Sort ordenacao = Sort.by(direcao, ordenarPor);
+        return "id".equals(ordenarPor) ? ordenacao : ordenacao.and(Sort.by(direcao, "id"));
+    }
+
+    // Confirma a existência sem carregar o cliente (apenas um select de chave primária)
+    @Transactional(readOnly = true)
+    public void verificarExistencia(Long id) {
+        if (!clienteRepository.existsById(id)) {
             throw new ResourceNotFoundException("Cliente não encontrado com o ID: " + id);
         }
-        clienteRepository.deleteById(id);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#id")
+    @Transactional
+    public void deletar(Long id) {
+        Cliente cliente = clienteRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + id));
+        estatisticaService.clienteRemovido(id);
+        // A remoção verifica a versão lida: o evento leva a versão seguinte
+        clienteRepository.delete(cliente);
+        outboxService.clienteRemovido(id, cliente.getVersao() + 1);
+        janelaLeituraPropria.registrarEscrita(id);
         logger.info("Cliente deletado com sucesso, ID: {}", id);
     }
 }
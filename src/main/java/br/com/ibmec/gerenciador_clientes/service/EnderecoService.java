@@ -1,73 +1,167 @@
 package br.com.ibmec.gerenciador_clientes.service;
 
+import br.com.ibmec.gerenciador_clientes.config.CacheConfig;
+import br.com.ibmec.gerenciador_clientes.datasource.JanelaLeituraPropria;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
 import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
 import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.Regiao;
+import br.com.ibmec.gerenciador_clientes.pagination.Cursor;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.repository.EnderecoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class EnderecoService {
 
+    private static final Sort ORDENACAO = Sort.by("id");
+    private static final Set<String> CHAVES = Set.of("id");
+
     @Autowired
     private EnderecoRepository enderecoRepository;
 
     @Autowired
     private ClienteService clienteService;
 
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private JanelaLeituraPropria janelaLeituraPropria;
+
+    @Autowired
+    private OutboxService outboxService;
+
     @Transactional(readOnly = true)
     public Endereco buscarPorId(Long enderecoId) {
         return enderecoRepository.findById(enderecoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Endereço não encontrado com o ID: " + enderecoId));
     }
 
+    // Uma consulta indexada por página; a existência do cliente só é consultada quando a primeira página vem vazia
     @Transactional(readOnly = true)
-    public List<Endereco> listarPorClienteId(Long clienteId) {
-        Cliente cliente = clienteService.buscarPorId(clienteId);
-        return cliente.getEnderecos();
+    public Pagina<EnderecoDTO> listarPorClienteId(Long clienteId, String cursor, int tamanho) {
+        Long aposId = cursor != null ? ultimoId(cursor) : 0L;
+        janelaLeituraPropria.lerDoPrimarioSeAlterado(clienteId);
+        int limite = Math.max(1, Math.min(tamanho, ClienteService.TAMANHO_PAGINA_MAXIMO));
+
+        // Um item a mais indica se existe próxima página
+        List<EnderecoDTO> enderecos = enderecoRepository.listarDoCliente(clienteId, aposId, Limit.of(limite + 1));
+        if (enderecos.isEmpty() && cursor == null) {
+            clienteService.verificarExistencia(clienteId);
+        }
+
+        String proximo = null;
+        if (enderecos.size() > limite) {
+            enderecos = enderecos.subList(0, limite);
+            proximo = Cursor.codificar(ORDENACAO, ScrollPosition.forward(Map.of("id", enderecos.get(limite - 1).getId())));
+        }
+        return new Pagina<>(enderecos, proximo);
     }
 
+    private static Long ultimoId(String cursor) {
+        Object id = Cursor.decodificar(cursor, CHAVES).posicao().getKeys().get("id");
+        if (!(id instanceof Long ultimo)) {
+            throw new InvalidRequestException("Cursor de paginação inválido.");
+        }
+        return ultimo;
+    }
+
+    // Os endereços fazem parte do cliente em cache e da sua versão (ETag)
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#clienteId")
     @Transactional
     public Endereco adicionar(Long clienteId, Endereco endereco) {
         Cliente cliente = clienteService.buscarPorId(clienteId);
         endereco.setCliente(cliente);
-        return enderecoRepository.save(endereco);
+        Endereco salvo = enderecoRepository.save(endereco);
+        long versao = clienteService.incrementarVersao(clienteId);
+        estatisticaService.enderecoAdicionado(clienteId, regiao(salvo));
+        outboxService.enderecoCriado(clienteId, versao, salvo);
+        return salvo;
     }
 
+    // UPDATE restrito ao cliente; a região anterior (contagens) é lida por projeção, que também verifica o dono
+    // e bloqueia a linha até o fim da transação. A representação devolvida é a própria entrada, sem nova leitura
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#clienteId")
     @Transactional
     public Endereco atualizar(Long clienteId, Long enderecoId, Endereco enderecoAtualizado) {
-        // Verificar se o endereço pertence ao cliente
-        boolean pertence = enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId);
-        if (!pertence) {
-            throw new ResourceNotFoundException("Endereço com ID: " + enderecoId + " não pertence ao cliente com ID: " + clienteId);
+        Regiao anterior = enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)
+                .orElseThrow(() -> naoPertence(clienteId, enderecoId));
+        int atualizados = enderecoRepository.atualizarDoCliente(enderecoId, clienteId, enderecoAtualizado);
+        if (atualizados == 0) {
+            throw naoPertence(clienteId, enderecoId);
         }
+        long versao = clienteService.incrementarVersao(clienteId);
+        estatisticaService.enderecoMovido(clienteId, anterior, regiao(enderecoAtualizado));
 
-        // Buscar o endereço existente
-        Endereco enderecoExistente = buscarPorId(enderecoId);
+        enderecoAtualizado.setId(enderecoId);
+        outboxService.enderecoAtualizado(clienteId, versao, enderecoAtualizado);
+        return enderecoAtualizado;
+    }
+
+    // PATCH: altera somente os campos enviados; a versão do cliente só muda se algum valor mudou
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#clienteId")
+    @Transactional
+    public Endereco atualizarParcial(Long clienteId, Long enderecoId, Endereco alteracoes, Set<String> campos) {
+        Endereco existente = enderecoRepository.findByIdAndClienteId(enderecoId, clienteId)
+                .orElseThrow(() -> naoPertence(clienteId, enderecoId));
+        Regiao anterior = regiao(existente);
+        boolean alterado = alterar(campos, "rua", existente.getRua(), alteracoes.getRua(), existente::setRua);
+        alterado |= alterar(campos, "numero", existente.getNumero(), alteracoes.getNumero(), existente::setNumero);
+        alterado |= alterar(campos, "bairro", existente.getBairro(), alteracoes.getBairro(), existente::setBairro);
+        alterado |= alterar(campos, "cidade", existente.getCidade(), alteracoes.getCidade(), existente::setCidade);
+        alterado |= alterar(campos, "estado", existente.getEstado(), alteracoes.getEstado(), existente::setEstado);
+        alterado |= alterar(campos, "cep", existente.getCep(), alteracoes.getCep(), existente::setCep);
 
-        // Atualizar os campos
-        enderecoExistente.setRua(enderecoAtualizado.getRua());
-        enderecoExistente.setNumero(enderecoAtualizado.getNumero());
-        enderecoExistente.setBairro(enderecoAtualizado.getBairro());
-        enderecoExistente.setCidade(enderecoAtualizado.getCidade());
-        enderecoExistente.setEstado(enderecoAtualizado.getEstado());
-        enderecoExistente.setCep(enderecoAtualizado.getCep());
+        if (alterado) {
+            long versao = clienteService.incrementarVersao(clienteId);
+            estatisticaService.enderecoMovido(clienteId, anterior, regiao(existente));
+            outboxService.enderecoAtualizado(clienteId, versao, existente);
+        }
+        return existente;
+    }
 
-        return enderecoRepository.save(enderecoExistente);
+    private static <V> boolean alterar(Set<String> campos, String campo, V atual, V novo, Consumer<V> setter) {
+        if (!campos.contains(campo) || Objects.equals(atual, novo)) {
+            return false;
+        }
+        setter.accept(novo);
+        return true;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#clienteId")
     @Transactional
     public void deletar(Long clienteId, Long enderecoId) {
-        boolean exists = enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId);
-        if (!exists) {
-            throw new ResourceNotFoundException("Endereço com ID: " + enderecoId + " não pertence ao cliente com ID: " + clienteId);
+        Regiao regiao = enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)
+                .orElseThrow(() -> naoPertence(clienteId, enderecoId));
+        int removidos = enderecoRepository.deletarDoCliente(enderecoId, clienteId);
+        if (removidos == 0) {
+            throw naoPertence(clienteId, enderecoId);
         }
+        long versao = clienteService.incrementarVersao(clienteId);
+        estatisticaService.enderecoRemovido(clienteId, regiao);
+        outboxService.enderecoRemovido(clienteId, enderecoId, versao);
+    }
+
+    private static Regiao regiao(Endereco endereco) {
+        return new Regiao(endereco.getEstado(), endereco.getCidade());
+    }
 
-        Endereco endereco = buscarPorId(enderecoId); // Método que busca o endereço ou lança exceção
-        enderecoRepository.delete(endereco);
+    private static ResourceNotFoundException naoPertence(Long clienteId, Long enderecoId) {
+        return new ResourceNotFoundException("Endereço com ID: " + enderecoId + " não pertence ao cliente com ID: " + clienteId);
     }
 }
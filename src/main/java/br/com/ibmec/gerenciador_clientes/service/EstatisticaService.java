@@ -0,0 +1,209 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.dto.ContagemRegiaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.FaixaEtariaDTO;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.ContagemRegiao;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.Regiao;
+import br.com.ibmec.gerenciador_clientes.repository.ContagemRegiaoRepository;
+import br.com.ibmec.gerenciador_clientes.repository.EnderecoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contagens de clientes e endereços por estado/cidade (tabela contagem_regiao).
+ * Os métodos de atualização são chamados dentro da transação que altera os
+ * endereços, de modo que o contador é gravado (ou desfeito) junto com a alteração;
+ * o recálculo agendado corrige qualquer divergência.
+ * Também calcula a distribuição dos clientes por faixa etária, direto no banco.
+ */
+@Service
+public class EstatisticaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticaService.class);
+
+    public static final int MAXIMO_LIMITES_IDADE = 20;
+
+    @Autowired
+    private ContagemRegiaoRepository contagemRegiaoRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public List<ContagemRegiaoDTO> listarPorRegiao(String estado) {
+        return contagemRegiaoRepository.listar(estado);
+    }
+
+    /**
+     * Quantidade de clientes por faixa de idade, dados os limites inferiores das faixas
+     * (ex.: 18, 30 → até 17, de 18 a 29 e 30 ou mais). Cada limite vira uma data de
+     * nascimento e as faixas são contadas em uma única consulta agregada, sem carregar clientes.
+     */
+    @Transactional(readOnly = true)
+    public List<FaixaEtariaDTO> distribuicaoPorIdade(List<Integer> limites) {
+        validarLimites(limites);
+        LocalDate hoje = LocalDate.now(clock);
+
+        // count(c) e, para cada limite, quantos clientes têm pelo menos aquela idade
+        StringBuilder jpql = new StringBuilder("select count(c)");
+        for (int i = 0; i < limites.size(); i++) {
+            jpql.append(", sum(case when c.dataNascimento <= :nascidoAte").append(i).append(" then 1 else 0 end)");
+        }
+        jpql.append(" from Cliente c");
+        TypedQuery<Object[]> consulta = entityManager.createQuery(jpql.toString(), Object[].class);
+        for (int i = 0; i < limites.size(); i++) {
+            consulta.setParameter("nascidoAte" + i, hoje.minusYears(limites.get(i)));
+        }
+        Object[] linha = consulta.getSingleResult();
+
+        List<FaixaEtariaDTO> faixas = new ArrayList<>(limites.size() + 1);
+        long anterior = quantidade(linha[0]);
+        int idadeMinima = 0;
+        for (int i = 0; i < limites.size(); i++) {
+            long aPartirDoLimite = quantidade(linha[i + 1]);
+            faixas.add(new FaixaEtariaDTO(idadeMinima, limites.get(i) - 1, anterior - aPartirDoLimite));
+            anterior = aPartirDoLimite;
+            idadeMinima = limites.get(i);
+        }
+        faixas.add(new FaixaEtariaDTO(idadeMinima, null, anterior));
+        return faixas;
+    }
+
+    private static void validarLimites(List<Integer> limites) {
+        if (limites == null || limites.isEmpty() || limites.size() > MAXIMO_LIMITES_IDADE) {
+            throw new InvalidRequestException("Informe de 1 a " + MAXIMO_LIMITES_IDADE + " limites de idade.");
+        }
+        int anterior = 0;
+        for (Integer limite : limites) {
+            if (limite == null || limite <= anterior) {
+                throw new InvalidRequestException("Os limites de idade devem ser positivos e crescentes.");
+            }
+            if (limite > ClienteService.IDADE_MAXIMA) {
+                throw new InvalidRequestException("Os limites de idade não podem passar de " + ClienteService.IDADE_MAXIMA + " anos.");
+            }
+            anterior = limite;
+        }
+    }
+
+    // sum() de nenhuma linha é nulo
+    private static long quantidade(Object valor) {
+        return valor == null ? 0 : ((Number) valor).longValue();
+    }
+
+    // Chamado após a inclusão: o cliente passa a contar na região se este for o seu único endereço nela
+    @Transactional
+    public void enderecoAdicionado(Long clienteId, Regiao regiao) {
+        long doCliente = enderecoRepository.countByClienteIdAndEstadoAndCidade(clienteId, regiao.estado(), regiao.cidade());
+        somar(regiao, doCliente == 1 ? 1 : 0, 1);
+    }
+
+    // Chamado após a remoção: o cliente deixa de contar na região se não restou endereço dele nela
+    @Transactional
+    public void enderecoRemovido(Long clienteId, Regiao regiao) {
+        long doCliente = enderecoRepository.countByClienteIdAndEstadoAndCidade(clienteId, regiao.estado(), regiao.cidade());
+        somar(regiao, doCliente == 0 ? -1 : 0, -1);
+    }
+
+    @Transactional
+    public void enderecoMovido(Long clienteId, Regiao anterior, Regiao atual) {
+        if (anterior.equals(atual)) {
+            return;
+        }
+        enderecoRemovido(clienteId, anterior);
+        enderecoAdicionado(clienteId, atual);
+    }
+
+    // Clientes recém-criados com os seus endereços (cadastro e importação em lote): um incremento por região
+    @Transactional
+    public void clientesAdicionados(Collection<Cliente> clientes) {
+        Map<Regiao, long[]> deltas = new LinkedHashMap<>();
+        for (Cliente cliente : clientes) {
+            if (cliente.getEnderecos() == null) {
+                continue;
+            }
+            Set<Regiao> regioesDoCliente = new HashSet<>();
+            for (Endereco endereco : cliente.getEnderecos()) {
+                Regiao regiao = new Regiao(endereco.getEstado(), endereco.getCidade());
+                long[] delta = deltas.computeIfAbsent(regiao, r -> new long[2]);
+                if (regioesDoCliente.add(regiao)) {
+                    delta[0]++;
+                }
+                delta[1]++;
+            }
+        }
+        deltas.forEach((regiao, delta) -> somar(regiao, delta[0], delta[1]));
+    }
+
+    // Chamado antes da remoção do cliente, enquanto os endereços (removidos em cascata) ainda existem
+    @Transactional
+    public void clienteRemovido(Long clienteId) {
+        for (ContagemRegiao contagem : enderecoRepository.contarPorRegiaoDoCliente(clienteId)) {
+            somar(new Regiao(contagem.getEstado(), contagem.getCidade()), -contagem.getClientes(), -contagem.getEnderecos());
+        }
+    }
+
+    /**
+     * Recalcula todas as contagens a partir dos endereços (uma consulta agregada), atualizando os
+     * contadores no lugar. Zerar primeiro bloqueia as linhas: o recálculo espera as transações que
+     * já incrementaram um contador, e a consulta agregada vê os endereços delas; as que chegam depois
+     * esperam o fim do recálculo para incrementar. Nenhum incremento se perde entre a leitura e a gravação.
+     */
+    @Scheduled(cron = "${estatisticas.recalculo.cron}")
+    @Transactional
+    public void recalcular() {
+        contagemRegiaoRepository.zerar();
+        List<ContagemRegiao> contagens = enderecoRepository.contarPorRegiao();
+        for (ContagemRegiao contagem : contagens) {
+            if (contagemRegiaoRepository.definir(contagem.getEstado(), contagem.getCidade(),
+                    contagem.getClientes(), contagem.getEnderecos()) == 0) {
+                contagemRegiaoRepository.criarOuSomar(contagem.getEstado(), contagem.getCidade(),
+                        contagem.getClientes(), contagem.getEnderecos());
+            }
+        }
+        logger.info("Contagens por região recalculadas: {} regiões", contagens.size());
+    }
+
+    // Bases existentes antes da tabela de contagens: preenche na subida da aplicação
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recalcularSeVazio() {
+        if (contagemRegiaoRepository.count() == 0 && enderecoRepository.count() > 0) {
+            recalcular();
+        }
+    }
+
+    private void somar(Regiao regiao, long clientes, long enderecos) {
+        if (contagemRegiaoRepository.somar(regiao.estado(), regiao.cidade(), clientes, enderecos) == 0) {
+            // Primeira ocorrência da região: cria o contador na mesma transação
+            contagemRegiaoRepository.criarOuSomar(regiao.estado(), regiao.cidade(), clientes, enderecos);
+        }
+    }
+}
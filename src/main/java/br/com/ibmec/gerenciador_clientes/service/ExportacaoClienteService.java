@@ -0,0 +1,144 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportação da base inteira de clientes (com os endereços) em NDJSON ou CSV.
+ * Os clientes são lidos por um cursor do banco e escritos na saída um a um; cada
+ * cliente é desanexado da sessão logo após ser escrito, então o uso de memória não
+ * depende do tamanho da tabela.
+ */
+@Service
+public class ExportacaoClienteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacaoClienteService.class);
+
+    static final String CABECALHO_CSV = "id,nome,email,cpf,telefone,dataNascimento,"
+            + "enderecoId,rua,numero,bairro,cidade,estado,cep";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ClienteMapper clienteMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Um objeto JSON por linha
+    @Transactional(readOnly = true)
+    public void exportarNdjson(OutputStream saida) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClienteDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            percorrer(clienteDTO -> {
+                try {
+                    writer.writeValue(gerador, clienteDTO);
+                    gerador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // Uma linha por endereço (clientes sem endereço ocupam uma linha com as colunas de endereço vazias)
+    @Transactional(readOnly = true)
+    public void exportarCsv(OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        writer.write(CABECALHO_CSV);
+        writer.write("\r\n");
+        percorrer(clienteDTO -> {
+            try {
+                List<EnderecoDTO> enderecos = clienteDTO.getEnderecos();
+                if (enderecos == null || enderecos.isEmpty()) {
+                    escreverLinhaCsv(writer, clienteDTO, null);
+                } else {
+                    for (EnderecoDTO enderecoDTO : enderecos) {
+                        escreverLinhaCsv(writer, clienteDTO, enderecoDTO);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void percorrer(Consumer<ClienteDTO> escrever) throws IOException {
+        long total = 0;
+        try (Stream<Cliente> clientes = clienteRepository.streamComEnderecos()) {
+            for (Cliente cliente : (Iterable<Cliente>) clientes::iterator) {
+                escrever.accept(clienteMapper.toDTO(cliente));
+                // Libera o cliente (e, em cascata, os endereços) da sessão
+                entityManager.detach(cliente);
+                total++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        logger.info("Exportação de clientes concluída: {} clientes", total);
+    }
+
+    private void escreverLinhaCsv(Writer writer, ClienteDTO clienteDTO, EnderecoDTO enderecoDTO) throws IOException {
+        escreverCampos(writer, clienteDTO.getId(), clienteDTO.getNome(), clienteDTO.getEmail(), clienteDTO.getCpf(),
+                clienteDTO.getTelefone(), clienteDTO.getDataNascimento());
+        if (enderecoDTO == null) {
+            writer.write(",,,,,,,");
+        } else {
+            writer.write(',');
+            escreverCampos(writer, enderecoDTO.getId(), enderecoDTO.getRua(), enderecoDTO.getNumero(),
+                    enderecoDTO.getBairro(), enderecoDTO.getCidade(), enderecoDTO.getEstado(), enderecoDTO.getCep());
+        }
+        writer.write("\r\n");
+    }
+
+    private void escreverCampos(Writer writer, Object... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (campos[i] != null) {
+                writer.write(escaparCsv(campos[i].toString()));
+            }
+        }
+    }
+
+    // RFC 4180: campos com vírgula, aspas ou quebra de linha vão entre aspas, com as aspas duplicadas
+    static String escaparCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
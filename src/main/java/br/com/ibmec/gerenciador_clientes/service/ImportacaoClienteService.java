@@ -0,0 +1,150 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ImportacaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ResultadoImportacaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ResultadoImportacaoDTO.Status;
+import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.FormatoDocumento;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação de clientes em lote: valida todos os registros antes de gravar,
+ * verifica unicidade de email/CPF do lote inteiro com uma consulta por campo
+ * e insere clientes e endereços em batches JDBC (ids por sequence com allocationSize
+ * e {@code hibernate.jdbc.batch_size}).
+ */
+@Service
+public class ImportacaoClienteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoClienteService.class);
+
+    public static final int TAMANHO_MAXIMO_LOTE = 1000;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ClienteMapper clienteMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Transactional
+    public ImportacaoDTO importar(List<ClienteDTO> clientesDTO) {
+        if (clientesDTO == null || clientesDTO.isEmpty()) {
+            throw new InvalidRequestException("O lote de clientes está vazio.");
+        }
+        if (clientesDTO.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new InvalidRequestException("O lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " clientes.");
+        }
+
+        ResultadoImportacaoDTO[] resultados = new ResultadoImportacaoDTO[clientesDTO.size()];
+        Map<Integer, ClienteDTO> validos = new LinkedHashMap<>();
+
+        // 1. Validação de todos os registros antes de qualquer acesso ao banco
+        for (int i = 0; i < clientesDTO.size(); i++) {
+            ClienteDTO clienteDTO = clientesDTO.get(i);
+            List<String> erros = validar(clienteDTO);
+            if (erros.isEmpty()) {
+                validos.put(i, clienteDTO);
+            } else {
+                resultados[i] = new ResultadoImportacaoDTO(i, Status.INVALIDO, null, erros);
+            }
+        }
+
+        // 2. Unicidade: uma consulta por campo para o lote inteiro, mais repetições dentro do próprio lote.
+        // O CPF é comparado pelo número, então "123.456.789-00" e "12345678900" são o mesmo CPF
+        Map<Integer, Cliente> convertidos = new LinkedHashMap<>();
+        validos.forEach((indice, clienteDTO) -> convertidos.put(indice, clienteMapper.toEntity(clienteDTO)));
+        Set<String> emails = new HashSet<>();
+        Set<Long> cpfs = new HashSet<>();
+        convertidos.values().forEach(cliente -> {
+            emails.add(cliente.getEmail());
+            cpfs.add(cliente.getCpf());
+        });
+        Set<String> emailsUsados = emails.isEmpty() ? new HashSet<>() : new HashSet<>(clienteRepository.findEmailsCadastrados(emails));
+        Set<Long> cpfsUsados = cpfs.isEmpty() ? new HashSet<>() : new HashSet<>(clienteRepository.findCpfsCadastrados(cpfs));
+
+        Map<Integer, Cliente> aceitos = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Cliente> entrada : convertidos.entrySet()) {
+            Cliente cliente = entrada.getValue();
+            List<String> erros = new ArrayList<>();
+            if (!emailsUsados.add(cliente.getEmail())) {
+                erros.add("Email já cadastrado: " + cliente.getEmail());
+            }
+            if (!cpfsUsados.add(cliente.getCpf())) {
+                erros.add("CPF já cadastrado: " + FormatoDocumento.formatarCpf(cliente.getCpf()));
+            }
+            if (erros.isEmpty()) {
+                aceitos.put(entrada.getKey(), cliente);
+            } else {
+                resultados[entrada.getKey()] = new ResultadoImportacaoDTO(entrada.getKey(), Status.DUPLICADO, null, erros);
+            }
+        }
+
+        // 3. Inserção em batch de clientes e endereços (cascade); um cadastro concorrente ainda pode violar
+        // as restrições de unicidade, e nesse caso o lote inteiro é desfeito
+        try {
+            clienteRepository.saveAllAndFlush(aceitos.values());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("Email ou CPF do lote cadastrado por outra requisição; reenvie o lote.");
+        }
+        estatisticaService.clientesAdicionados(aceitos.values());
+        outboxService.clientesCriados(aceitos.values());
+        aceitos.forEach((indice, cliente) ->
+                resultados[indice] = new ResultadoImportacaoDTO(indice, Status.CRIADO, cliente.getId(), List.of()));
+
+        logger.info("Importação de clientes: {} recebidos, {} criados", clientesDTO.size(), aceitos.size());
+        return new ImportacaoDTO(clientesDTO.size(), aceitos.size(), clientesDTO.size() - aceitos.size(), List.of(resultados));
+    }
+
+    private List<String> validar(ClienteDTO clienteDTO) {
+        if (clienteDTO == null) {
+            return List.of("Registro vazio.");
+        }
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<ClienteDTO> violacao : validator.validate(clienteDTO)) {
+            erros.add(violacao.getPropertyPath() + ": " + violacao.getMessage());
+        }
+        if (clienteDTO.getEnderecos() != null) {
+            for (int i = 0; i < clienteDTO.getEnderecos().size(); i++) {
+                EnderecoDTO enderecoDTO = clienteDTO.getEnderecos().get(i);
+                if (enderecoDTO == null) {
+                    erros.add("enderecos[" + i + "]: Endereço vazio.");
+                    continue;
+                }
+                for (ConstraintViolation<EnderecoDTO> violacao : validator.validate(enderecoDTO)) {
+                    erros.add("enderecos[" + i + "]." + violacao.getPropertyPath() + ": " + violacao.getMessage());
+                }
+            }
+        }
+        erros.sort(null);
+        return erros;
+    }
+}
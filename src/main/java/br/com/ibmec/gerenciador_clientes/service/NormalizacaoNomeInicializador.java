@@ -0,0 +1,49 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.NormalizadorNome;
+import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Preenche o nome normalizado (busca por nome) dos clientes gravados antes da
+ * coluna {@code nome_normalizado} existir. Novos cadastros e alterações já
+ * gravam a coluna ({@code Cliente#atualizarNomeNormalizado}).
+ */
+@Component
+public class NormalizacaoNomeInicializador {
+
+    private static final Logger logger = LoggerFactory.getLogger(NormalizacaoNomeInicializador.class);
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void normalizarPendentes() {
+        long total = 0;
+        List<Cliente> pendentes;
+        while (!(pendentes = clienteRepository.findTop500ByNomeNormalizadoIsNull()).isEmpty()) {
+            pendentes.forEach(cliente -> cliente.setNomeNormalizado(NormalizadorNome.normalizar(cliente.getNome())));
+            entityManager.flush();
+            entityManager.clear();
+            total += pendentes.size();
+        }
+        if (total > 0) {
+            logger.info("Nome normalizado preenchido para {} clientes", total);
+        }
+    }
+}
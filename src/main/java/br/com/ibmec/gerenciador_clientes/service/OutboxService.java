@@ -0,0 +1,97 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapper;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import br.com.ibmec.gerenciador_clientes.model.TipoEvento;
+import br.com.ibmec.gerenciador_clientes.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Eventos de alteração de clientes e endereços (tabela evento_outbox). São gravados
+ * dentro da transação que faz a alteração, de modo que o evento é confirmado ou desfeito
+ * junto com ela; a publicação para outros serviços fica com o RelayOutbox.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ClienteMapper clienteMapper;
+
+    @Autowired
+    private EnderecoMapper enderecoMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Clock clock;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clienteCriado(Cliente cliente) {
+        eventoOutboxRepository.save(eventoDoCliente(TipoEvento.CLIENTE_CRIADO, cliente));
+    }
+
+    // Importação em lote: os eventos entram no mesmo batch de inserts
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clientesCriados(Collection<Cliente> clientes) {
+        eventoOutboxRepository.saveAll(clientes.stream()
+                .map(cliente -> eventoDoCliente(TipoEvento.CLIENTE_CRIADO, cliente))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clienteAtualizado(Cliente cliente) {
+        eventoOutboxRepository.save(eventoDoCliente(TipoEvento.CLIENTE_ATUALIZADO, cliente));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clienteRemovido(Long clienteId, long versao) {
+        eventoOutboxRepository.save(evento(TipoEvento.CLIENTE_REMOVIDO, clienteId, null, versao, null));
+    }
+
+    // versao: versão do cliente após a alteração do endereço (ClienteService.incrementarVersao)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enderecoCriado(Long clienteId, long versao, Endereco endereco) {
+        eventoOutboxRepository.save(evento(TipoEvento.ENDERECO_CRIADO, clienteId, endereco.getId(), versao,
+                enderecoMapper.toDTO(endereco)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enderecoAtualizado(Long clienteId, long versao, Endereco endereco) {
+        eventoOutboxRepository.save(evento(TipoEvento.ENDERECO_ATUALIZADO, clienteId, endereco.getId(), versao,
+                enderecoMapper.toDTO(endereco)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enderecoRemovido(Long clienteId, Long enderecoId, long versao) {
+        eventoOutboxRepository.save(evento(TipoEvento.ENDERECO_REMOVIDO, clienteId, enderecoId, versao, null));
+    }
+
+    private EventoOutbox eventoDoCliente(TipoEvento tipo, Cliente cliente) {
+        return evento(tipo, cliente.getId(), null, cliente.getVersao(), clienteMapper.toDTO(cliente));
+    }
+
+    private EventoOutbox evento(TipoEvento tipo, Long clienteId, Long enderecoId, Long versao, Object dados) {
+        try {
+            String json = dados == null ? null : objectMapper.writeValueAsString(dados);
+            return new EventoOutbox(tipo, clienteId, enderecoId, versao, json, Instant.now(clock));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento " + tipo + " do cliente " + clienteId, e);
+        }
+    }
+}
@@ -1,20 +1,49 @@
 package br.com.ibmec.gerenciador_clientes.service;
 
+import br.com.ibmec.gerenciador_clientes.datasource.JanelaLeituraPropria;
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ConsultaClientesDTO;
 import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.exception.PreconditionFailedException;
 import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.pagination.Cursor;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +58,22 @@ class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private JanelaLeituraPropria janelaLeituraPropria;
+
+    @Spy
+    private ClienteMapper clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+
+    // 15/06/2024
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC);
+
     private Cliente cliente;
 
     @BeforeEach
@@ -38,52 +83,69 @@ class ClienteServiceTest {
         cliente.setId(1L);
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@example.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf(12345678900L);
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
-        cliente.setTelefone("(11) 91234-5678");
+        cliente.setTelefone(11912345678L);
     }
 
     @Test
     void adicionarClienteComSucesso() {
-        when(clienteRepository.existsByEmail(cliente.getEmail())).thenReturn(false);
-        when(clienteRepository.existsByCpf(cliente.getCpf())).thenReturn(false);
-        when(clienteRepository.save(cliente)).thenReturn(cliente);
+        when(clienteRepository.saveAndFlush(cliente)).thenReturn(cliente);
 
         Cliente clienteSalvo = clienteService.adicionar(cliente);
 
         assertNotNull(clienteSalvo);
         assertEquals(cliente.getId(), clienteSalvo.getId());
-        verify(clienteRepository, times(1)).save(cliente);
+        verify(clienteRepository, times(1)).saveAndFlush(cliente);
+        verify(outboxService, times(1)).clienteCriado(cliente);
+        // A unicidade é verificada pelo banco, sem consultas prévias
+        verify(clienteRepository, never()).existsByEmail(anyString());
+        verify(clienteRepository, never()).existsByCpf(anyLong());
+    }
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), restricao));
     }
 
     @Test
     void adicionarClienteComEmailDuplicado() {
-        when(clienteRepository.existsByEmail(cliente.getEmail())).thenReturn(true);
+        when(clienteRepository.saveAndFlush(cliente))
+                .thenThrow(violacao("PUBLIC.UK_CLIENTE_EMAIL_INDEX_5 ON PUBLIC.CLIENTE(EMAIL NULLS FIRST)"));
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
             clienteService.adicionar(cliente);
         });
 
         assertEquals("Email já cadastrado: " + cliente.getEmail(), exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
     }
 
     @Test
     void adicionarClienteComCpfDuplicado() {
-        when(clienteRepository.existsByEmail(cliente.getEmail())).thenReturn(false);
-        when(clienteRepository.existsByCpf(cliente.getCpf())).thenReturn(true);
+        when(clienteRepository.saveAndFlush(cliente)).thenThrow(violacao("cliente.uk_cliente_cpf"));
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
             clienteService.adicionar(cliente);
         });
 
-        assertEquals("CPF já cadastrado: " + cliente.getCpf(), exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        assertEquals("CPF já cadastrado: 123.456.789-00", exception.getMessage());
+    }
+
+    @Test
+    void adicionarCliente_OutraViolacao_PropagaExcecao() {
+        DataIntegrityViolationException violacao = violacao("fk_desconhecida");
+        when(clienteRepository.saveAndFlush(cliente)).thenThrow(violacao);
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
+            clienteService.adicionar(cliente);
+        });
+
+        assertSame(violacao, exception);
     }
 
     @Test
     void buscarClientePorIdExistente() {
-        when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findComEnderecosById(cliente.getId())).thenReturn(Optional.of(cliente));
 
         Cliente clienteEncontrado = clienteService.buscarPorId(cliente.getId());
 
@@ -93,7 +155,7 @@ class ClienteServiceTest {
 
     @Test
     void buscarClientePorIdInexistente() {
-        when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.empty());
+        when(clienteRepository.findComEnderecosById(cliente.getId())).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             clienteService.buscarPorId(cliente.getId());
@@ -104,13 +166,151 @@ class ClienteServiceTest {
 
     @Test
     void listarTodosClientes() {
-        when(clienteRepository.findAll()).thenReturn(Arrays.asList(cliente));
+        Window<Cliente> janela = Window.from(Arrays.asList(cliente),
+                i -> ScrollPosition.forward(Map.of("id", cliente.getId())), false);
+        when(clienteRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(janela);
 
-        var clientes = clienteService.listarTodos();
+        Pagina<Cliente> pagina = clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, null, null);
 
-        assertNotNull(clientes);
-        assertFalse(clientes.isEmpty());
-        assertEquals(1, clientes.size());
+        assertNotNull(pagina);
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.proximo());
+        verify(clienteRepository).findAllBy(ScrollPosition.keyset(), Sort.by(Sort.Direction.ASC, "id"), Limit.of(20));
+    }
+
+    @Test
+    void listarTodosClientes_ComProximaPagina_RetornaCursor() {
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        chaves.put("nome", cliente.getNome());
+        chaves.put("id", cliente.getId());
+        Window<Cliente> janela = Window.from(Arrays.asList(cliente), i -> ScrollPosition.forward(chaves), true);
+        when(clienteRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(janela);
+
+        Pagina<Cliente> pagina = clienteService.listarTodos(null, "nome", Sort.Direction.DESC, 500, null, null);
+
+        assertNotNull(pagina.proximo());
+        Cursor.Posicao posicao = Cursor.decodificar(pagina.proximo(), ClienteService.ORDENACOES_PERMITIDAS);
+        assertEquals(Sort.by(Sort.Direction.DESC, "nome").and(Sort.by(Sort.Direction.DESC, "id")), posicao.ordenacao());
+        assertEquals(chaves, posicao.posicao().getKeys());
+        verify(clienteRepository).findAllBy(any(KeysetScrollPosition.class), any(Sort.class),
+                eq(Limit.of(ClienteService.TAMANHO_PAGINA_MAXIMO)));
+    }
+
+    @Test
+    void listarTodosClientes_OrdenacaoInvalida_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () ->
+                clienteService.listarTodos(null, "telefone", Sort.Direction.ASC, 20, null, null));
+        assertThrows(InvalidRequestException.class, () ->
+                clienteService.listarTodos("nao-e-um-cursor", "id", Sort.Direction.ASC, 20, null, null));
+        verify(clienteRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void listarTodosClientes_FaixaDeIdade_ConverteEmDatasDeNascimento() {
+        Window<Cliente> janela = Window.from(Arrays.asList(cliente),
+                i -> ScrollPosition.forward(Map.of("id", cliente.getId())), false);
+        when(clienteRepository.findByDataNascimentoGreaterThanAndDataNascimentoLessThanEqual(
+                any(LocalDate.class), any(LocalDate.class), any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(janela);
+
+        Pagina<Cliente> pagina = clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, 30, 39);
+
+        assertEquals(1, pagina.itens().size());
+        // 30 anos completos até 15/06/2024: nascido até 15/06/1994; no máximo 39: nascido depois de 15/06/1984
+        verify(clienteRepository).findByDataNascimentoGreaterThanAndDataNascimentoLessThanEqual(
+                LocalDate.of(1984, 6, 15), LocalDate.of(1994, 6, 15),
+                ScrollPosition.keyset(), Sort.by(Sort.Direction.ASC, "id"), Limit.of(20));
+        verify(clienteRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void listarTodosClientes_SomenteIdadeMinima() {
+        Window<Cliente> janela = Window.from(Arrays.asList(cliente),
+                i -> ScrollPosition.forward(Map.of("id", cliente.getId())), false);
+        when(clienteRepository.findByDataNascimentoLessThanEqual(
+                any(LocalDate.class), any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(janela);
+
+        clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, 18, null);
+
+        verify(clienteRepository).findByDataNascimentoLessThanEqual(
+                LocalDate.of(2006, 6, 15), ScrollPosition.keyset(), Sort.by(Sort.Direction.ASC, "id"), Limit.of(20));
+    }
+
+    @Test
+    void listarTodosClientes_SomenteIdadeMaxima() {
+        Window<Cliente> janela = Window.from(Arrays.asList(cliente),
+                i -> ScrollPosition.forward(Map.of("id", cliente.getId())), false);
+        when(clienteRepository.findByDataNascimentoGreaterThanAndDataNascimentoLessThanEqual(
+                any(LocalDate.class), any(LocalDate.class), any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(janela);
+
+        clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, null, 25);
+
+        verify(clienteRepository).findByDataNascimentoGreaterThanAndDataNascimentoLessThanEqual(
+                LocalDate.of(1998, 6, 15), LocalDate.of(2024, 6, 15),
+                ScrollPosition.keyset(), Sort.by(Sort.Direction.ASC, "id"), Limit.of(20));
+    }
+
+    @Test
+    void listarTodosClientes_FaixaDeIdadeInvalida_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () ->
+                clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, 40, 30));
+        assertThrows(InvalidRequestException.class, () ->
+                clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, -1, null));
+        assertThrows(InvalidRequestException.class, () ->
+                clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, null, Integer.MAX_VALUE));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    void buscarClientesPorNome_NormalizaPrefixo() {
+        Window<Cliente> janela = Window.from(Arrays.asList(cliente),
+                i -> ScrollPosition.forward(Map.of("nomeNormalizado", "joao silva", "id", cliente.getId())), false);
+        when(clienteRepository.findByNomeNormalizadoStartingWith(anyString(), any(ScrollPosition.class), any(Sort.class),
+                any(Limit.class))).thenReturn(janela);
+
+        Pagina<Cliente> pagina = clienteService.buscarPorNome("  JOÃO  Sil", null, 20);
+
+        assertEquals(1, pagina.itens().size());
+        verify(clienteRepository).findByNomeNormalizadoStartingWith("joao sil", ScrollPosition.keyset(),
+                Sort.by("nomeNormalizado", "id"), Limit.of(20));
+    }
+
+    @Test
+    void buscarClientesPorNome_TermoVazio_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> clienteService.buscarPorNome("   ", null, 20));
+        verify(clienteRepository, never()).findByNomeNormalizadoStartingWith(any(), any(), any(), any());
+    }
+
+    @Test
+    void buscarClientePorCpf_AceitaComOuSemPontuacao() {
+        when(clienteRepository.findByCpf(12345678900L)).thenReturn(Optional.of(cliente));
+
+        assertSame(cliente, clienteService.buscarPorCpf("123.456.789-00"));
+        assertSame(cliente, clienteService.buscarPorCpf("12345678900"));
+    }
+
+    @Test
+    void buscarClientePorCpf_Invalido_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> clienteService.buscarPorCpf("123.456"));
+        verify(clienteRepository, never()).findByCpf(any());
+    }
+
+    @Test
+    void buscarClientePorCpf_NotFound_ThrowsException() {
+        when(clienteRepository.findByCpf(98765432100L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> clienteService.buscarPorCpf("98765432100"));
+
+        assertEquals("Cliente não encontrado com o CPF: 987.654.321-00", exception.getMessage());
+    }
+
+    @Test
+    void buscarClientesPorTelefone() {
+        when(clienteRepository.findByTelefoneOrderById(11912345678L)).thenReturn(List.of(cliente));
+
+        assertEquals(List.of(cliente), clienteService.buscarPorTelefone("(11) 91234-5678"));
     }
 
     @Test
@@ -120,21 +320,19 @@ class ClienteServiceTest {
         clienteAtualizado.setId(clienteId);
         clienteAtualizado.setNome("João Pedro Silva");
         clienteAtualizado.setEmail("joao.pedro@example.com");
-        clienteAtualizado.setCpf("123.456.789-00"); // Mesmo CPF, não duplicado
+        clienteAtualizado.setCpf(12345678900L); // Mesmo CPF, não duplicado
         clienteAtualizado.setDataNascimento(LocalDate.of(1990, 1, 1));
-        clienteAtualizado.setTelefone("(11) 91234-5678");
+        clienteAtualizado.setTelefone(11912345678L);
 
-        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
-        when(clienteRepository.existsByEmail(clienteAtualizado.getEmail())).thenReturn(false);
-        // Removido: when(clienteRepository.existsByCpf(clienteAtualizado.getCpf())).thenReturn(false);
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteAtualizado);
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteAtualizado);
 
-        Cliente resultado = clienteService.atualizar(clienteId, clienteAtualizado);
+        Cliente resultado = clienteService.atualizar(clienteId, clienteAtualizado, null);
 
         assertNotNull(resultado);
         assertEquals("João Pedro Silva", resultado.getNome());
         assertEquals("joao.pedro@example.com", resultado.getEmail());
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
     }
 
     @Test
@@ -143,18 +341,18 @@ class ClienteServiceTest {
         Cliente clienteAtualizado = new Cliente();
         clienteAtualizado.setNome("João Pedro Silva");
         clienteAtualizado.setEmail("joao.pedro@example.com");
-        clienteAtualizado.setCpf("123.456.789-00");
+        clienteAtualizado.setCpf(12345678900L);
         clienteAtualizado.setDataNascimento(LocalDate.of(1990, 1, 1));
-        clienteAtualizado.setTelefone("(11) 91234-5678");
+        clienteAtualizado.setTelefone(11912345678L);
 
-        when(clienteRepository.findById(clienteId)).thenReturn(Optional.empty());
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            clienteService.atualizar(clienteId, clienteAtualizado);
+            clienteService.atualizar(clienteId, clienteAtualizado, null);
         });
 
         assertEquals("Cliente não encontrado com o ID: " + clienteId, exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
     }
 
     @Test
@@ -164,19 +362,18 @@ class ClienteServiceTest {
         clienteAtualizado.setId(clienteId);
         clienteAtualizado.setNome("João Pedro Silva");
         clienteAtualizado.setEmail("joao.pedro@example.com"); // Email duplicado
-        clienteAtualizado.setCpf("123.456.789-00");
+        clienteAtualizado.setCpf(12345678900L);
         clienteAtualizado.setDataNascimento(LocalDate.of(1990, 1, 1));
-        clienteAtualizado.setTelefone("(11) 91234-5678");
+        clienteAtualizado.setTelefone(11912345678L);
 
-        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
-        when(clienteRepository.existsByEmail(clienteAtualizado.getEmail())).thenReturn(true);
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(violacao("UK_CLIENTE_EMAIL"));
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
-            clienteService.atualizar(clienteId, clienteAtualizado);
+            clienteService.atualizar(clienteId, clienteAtualizado, null);
         });
 
         assertEquals("Email já cadastrado: " + clienteAtualizado.getEmail(), exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
     }
 
     @Test
@@ -186,52 +383,160 @@ class ClienteServiceTest {
         clienteAtualizado.setId(clienteId);
         clienteAtualizado.setNome("João Pedro Silva");
         clienteAtualizado.setEmail("joao.pedro@example.com");
-        clienteAtualizado.setCpf("999.999.999-99"); // Novo CPF, duplicado
+        clienteAtualizado.setCpf(99999999999L); // Novo CPF, duplicado
         clienteAtualizado.setDataNascimento(LocalDate.of(1990, 1, 1));
-        clienteAtualizado.setTelefone("(11) 91234-5678");
+        clienteAtualizado.setTelefone(11912345678L);
 
         // Mockando a resposta do repositório
-        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
-        when(clienteRepository.existsByEmail(clienteAtualizado.getEmail())).thenReturn(false);
-        when(clienteRepository.existsByCpf(clienteAtualizado.getCpf())).thenReturn(true); // CPF duplicado
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(violacao("UK_CLIENTE_CPF")); // CPF duplicado
 
         // Executando o teste
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
-            clienteService.atualizar(clienteId, clienteAtualizado);
+            clienteService.atualizar(clienteId, clienteAtualizado, null);
         });
 
         // Verificando a mensagem da exceção
-        assertEquals("CPF já cadastrado: " + clienteAtualizado.getCpf(), exception.getMessage());
+        assertEquals("CPF já cadastrado: 999.999.999-99", exception.getMessage());
+    }
+
+    @Test
+    void atualizarClienteParcial_AlteraSomenteCamposEnviados() {
+        Long clienteId = 1L;
+        Cliente alteracoes = new Cliente();
+        alteracoes.setTelefone(21998765432L);
+
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.saveAndFlush(cliente)).thenReturn(cliente);
+
+        Cliente resultado = clienteService.atualizarParcial(clienteId, alteracoes, Set.of("telefone"), null);
+
+        assertEquals(21998765432L, resultado.getTelefone());
+        assertEquals("João Silva", resultado.getNome());
+        assertEquals("joao.silva@example.com", resultado.getEmail());
+        assertEquals(12345678900L, resultado.getCpf());
+    }
+
+    @Test
+    void atualizarCliente_VersaoDesatualizada_ThrowsException() {
+        Long clienteId = 1L;
+        cliente.setVersao(3L);
+
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
+
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class, () -> {
+            clienteService.atualizar(clienteId, new Cliente(), 2L);
+        });
 
-        // Verificando que o método save nunca foi chamado
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        assertEquals("O cliente foi alterado por outra requisição; busque a versão atual e reenvie a alteração.", exception.getMessage());
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
+    }
+
+    @Test
+    void atualizarCliente_GravacaoConcorrente_ThrowsException() {
+        Long clienteId = 1L;
+        cliente.setVersao(3L);
+
+        when(clienteRepository.findComEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.saveAndFlush(any(Cliente.class)))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated or deleted by another transaction"));
+
+        assertThrows(PreconditionFailedException.class, () -> {
+            clienteService.atualizar(clienteId, cliente, 3L);
+        });
     }
 
     @Test
     void deletarClienteComSucesso() {
         Long clienteId = 1L;
 
-        when(clienteRepository.existsById(clienteId)).thenReturn(true); // Cliente existe
-        doNothing().when(clienteRepository).deleteById(clienteId);
+        cliente.setVersao(4L);
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente)); // Cliente existe
 
         clienteService.deletar(clienteId);
 
-        verify(clienteRepository, times(1)).existsById(clienteId);
-        verify(clienteRepository, times(1)).deleteById(clienteId);
+        verify(clienteRepository, times(1)).findById(clienteId);
+        verify(clienteRepository, times(1)).delete(cliente);
+        verify(outboxService, times(1)).clienteRemovido(clienteId, 5L);
     }
 
     @Test
     void deletarCliente_NotFound_ThrowsException() {
         Long clienteId = 1L;
 
-        when(clienteRepository.existsById(clienteId)).thenReturn(false); // Cliente não existe
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.empty()); // Cliente não existe
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             clienteService.deletar(clienteId);
         });
 
         assertEquals("Cliente não encontrado com o ID: " + clienteId, exception.getMessage());
-        verify(clienteRepository, never()).deleteById(anyLong());
+        verify(clienteRepository, never()).delete(any(Cliente.class));
+        verifyNoInteractions(outboxService);
     }
 
+    @Test
+    void incrementarVersao_RetornaNovaVersao() {
+        when(clienteRepository.findVersaoById(1L)).thenReturn(Optional.of(3L));
+
+        assertEquals(3L, clienteService.incrementarVersao(1L));
+        verify(clienteRepository).incrementarVersao(1L);
+    }
+
+
+    private static Cliente clienteComId(long id) {
+        Cliente c = new Cliente();
+        c.setId(id);
+        c.setNome("Cliente " + id);
+        return c;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buscarPorIds_MantemOrdemEInformaNaoEncontrados() {
+        // O banco devolve em outra ordem
+        when(clienteRepository.findByIdIn(List.of(3L, 1L, 99L, 2L)))
+                .thenReturn(List.of(clienteComId(1), clienteComId(2), clienteComId(3)));
+
+        ConsultaClientesDTO resultado = clienteService.buscarPorIds(List.of(3L, 1L, 99L, 3L, 2L));
+
+        assertEquals(List.of(3L, 1L, 2L), resultado.getClientes().stream().map(ClienteDTO::getId).toList());
+        assertEquals("Cliente 3", resultado.getClientes().get(0).getNome());
+        assertEquals(List.of(99L), resultado.getNaoEncontrados());
+        verify(clienteRepository, times(1)).findByIdIn(anyCollection());
+        // Uma única verificação da janela de leitura para o conjunto
+        verify(janelaLeituraPropria).lerDoPrimarioSeAlgumAlterado(List.of(3L, 1L, 99L, 2L));
+        verifyNoMoreInteractions(janelaLeituraPropria);
+    }
+
+    @Test
+    void buscarPorIds_ConsultaEmLotes() {
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().toList();
+        when(clienteRepository.findByIdIn(anyCollection())).thenAnswer(invocacao -> {
+            List<Cliente> lote = new ArrayList<>();
+            for (Object id : (java.util.Collection<?>) invocacao.getArgument(0)) {
+                lote.add(clienteComId((Long) id));
+            }
+            return lote;
+        });
+
+        ConsultaClientesDTO resultado = clienteService.buscarPorIds(ids);
+
+        assertEquals(250, resultado.getClientes().size());
+        assertTrue(resultado.getNaoEncontrados().isEmpty());
+        verify(clienteRepository).findByIdIn(ids.subList(0, 100));
+        verify(clienteRepository).findByIdIn(ids.subList(100, 200));
+        verify(clienteRepository).findByIdIn(ids.subList(200, 250));
+    }
+
+    @Test
+    void buscarPorIds_ListaInvalida() {
+        List<Long> comNulo = new ArrayList<>(Arrays.asList(1L, null));
+        List<Long> grandeDemais = LongStream.rangeClosed(1, ClienteService.MAXIMO_IDS_CONSULTA + 1).boxed().toList();
+
+        assertThrows(InvalidRequestException.class, () -> clienteService.buscarPorIds(List.of()));
+        assertThrows(InvalidRequestException.class, () -> clienteService.buscarPorIds(comNulo));
+        assertThrows(InvalidRequestException.class, () -> clienteService.buscarPorIds(grandeDemais));
+        verifyNoInteractions(clienteRepository);
+    }
 }
@@ -1,8 +1,12 @@
 package br.com.ibmec.gerenciador_clientes.service;
 
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.datasource.JanelaLeituraPropria;
 import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
 import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.Regiao;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.repository.EnderecoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +15,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +40,15 @@ class EnderecoServiceTest {
     @Mock
     private ClienteService clienteService;
 
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private JanelaLeituraPropria janelaLeituraPropria;
+
     private Cliente cliente;
     private Endereco endereco;
 
@@ -44,9 +59,9 @@ class EnderecoServiceTest {
         cliente.setId(1L);
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@example.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf(12345678900L);
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
-        cliente.setTelefone("(11) 91234-5678");
+        cliente.setTelefone(11912345678L);
         cliente.setEnderecos(new ArrayList<>()); // Inicializa a lista de endereços
 
         endereco = new Endereco();
@@ -56,7 +71,7 @@ class EnderecoServiceTest {
         endereco.setBairro("Centro");
         endereco.setCidade("São Paulo");
         endereco.setEstado("SP");
-        endereco.setCep("12345-678");
+        endereco.setCep(12345678);
         endereco.setCliente(cliente);
     }
 
@@ -70,25 +85,56 @@ class EnderecoServiceTest {
         enderecoAtualizado.setBairro("Bairro B");
         enderecoAtualizado.setCidade("Rio de Janeiro");
         enderecoAtualizado.setEstado("RJ");
-        enderecoAtualizado.setCep("87654-321");
+        enderecoAtualizado.setCep(87654321);
 
-        when(enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId)).thenReturn(true);
-        when(enderecoRepository.findById(enderecoId)).thenReturn(Optional.of(endereco));
-        when(enderecoRepository.save(any(Endereco.class))).thenReturn(enderecoAtualizado);
+        when(enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)).thenReturn(Optional.of(new Regiao("SP", "São Paulo")));
+        when(enderecoRepository.atualizarDoCliente(enderecoId, clienteId, enderecoAtualizado)).thenReturn(1);
 
         Endereco resultado = enderecoService.atualizar(clienteId, enderecoId, enderecoAtualizado);
 
         assertNotNull(resultado);
+        assertEquals(enderecoId, resultado.getId());
         assertEquals("Rua B", resultado.getRua());
         assertEquals("456", resultado.getNumero());
         assertEquals("Bairro B", resultado.getBairro());
         assertEquals("Rio de Janeiro", resultado.getCidade());
         assertEquals("RJ", resultado.getEstado());
-        assertEquals("87654-321", resultado.getCep());
+        assertEquals(87654321, resultado.getCep());
 
-        verify(enderecoRepository, times(1)).existsByIdAndClienteId(enderecoId, clienteId);
-        verify(enderecoRepository, times(1)).findById(enderecoId);
-        verify(enderecoRepository, times(1)).save(any(Endereco.class));
+        // Um único comando, sem leitura prévia
+        verify(enderecoRepository, times(1)).atualizarDoCliente(enderecoId, clienteId, enderecoAtualizado);
+        verify(enderecoRepository, never()).findById(anyLong());
+        verify(enderecoRepository, never()).save(any(Endereco.class));
+        verify(clienteService, times(1)).incrementarVersao(clienteId);
+        verify(estatisticaService, times(1)).enderecoMovido(clienteId, new Regiao("SP", "São Paulo"), new Regiao("RJ", "Rio de Janeiro"));
+        verify(outboxService, times(1)).enderecoAtualizado(eq(clienteId), anyLong(), eq(enderecoAtualizado));
+    }
+
+    @Test
+    void atualizarEnderecoParcial_AlteraSomenteCamposEnviados() {
+        Endereco alteracoes = new Endereco();
+        alteracoes.setNumero("999");
+        alteracoes.setRua(null); // Não enviado: não deve ser aplicado
+
+        when(enderecoRepository.findByIdAndClienteId(1L, 1L)).thenReturn(Optional.of(endereco));
+
+        Endereco resultado = enderecoService.atualizarParcial(1L, 1L, alteracoes, Set.of("numero"));
+
+        assertEquals("999", resultado.getNumero());
+        assertEquals("Rua A", resultado.getRua());
+        verify(clienteService, times(1)).incrementarVersao(1L);
+    }
+
+    @Test
+    void atualizarEnderecoParcial_SemMudanca_NaoAlteraVersao() {
+        Endereco alteracoes = new Endereco();
+        alteracoes.setCidade("São Paulo");
+
+        when(enderecoRepository.findByIdAndClienteId(1L, 1L)).thenReturn(Optional.of(endereco));
+
+        enderecoService.atualizarParcial(1L, 1L, alteracoes, Set.of("cidade"));
+
+        verify(clienteService, never()).incrementarVersao(anyLong());
     }
 
     @Test
@@ -101,59 +147,68 @@ class EnderecoServiceTest {
         enderecoAtualizado.setBairro("Bairro C");
         enderecoAtualizado.setCidade("Belo Horizonte");
         enderecoAtualizado.setEstado("MG");
-        enderecoAtualizado.setCep("11223-445");
+        enderecoAtualizado.setCep(11223445);
 
-        when(enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId)).thenReturn(false);
+        when(enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            enderecoService.deletar(clienteId, enderecoId);
+            enderecoService.atualizar(clienteId, enderecoId, enderecoAtualizado);
         });
 
         assertEquals("Endereço com ID: 2 não pertence ao cliente com ID: 1", exception.getMessage());
 
-        verify(enderecoRepository, times(1)).existsByIdAndClienteId(enderecoId, clienteId);
-        verify(enderecoRepository, never()).findById(anyLong());
-        verify(enderecoRepository, never()).delete(any(Endereco.class));
+        verify(enderecoRepository, never()).atualizarDoCliente(anyLong(), anyLong(), any(Endereco.class));
+        verify(clienteService, never()).incrementarVersao(anyLong());
     }
 
     @Test
     void listarEnderecosDoCliente_Success() {
         Long clienteId = 1L;
+        EnderecoDTO endereco1 = new EnderecoDTO(1L, "Rua A", "123", "Centro", "São Paulo", "SP", 12345678);
+        EnderecoDTO endereco2 = new EnderecoDTO(2L, "Rua B", "456", "Bairro B", "Rio de Janeiro", "RJ", 87654321);
 
-        Endereco endereco1 = new Endereco();
-        endereco1.setId(1L);
-        endereco1.setRua("Rua A");
-        endereco1.setNumero("123");
-        endereco1.setBairro("Centro");
-        endereco1.setCidade("São Paulo");
-        endereco1.setEstado("SP");
-        endereco1.setCep("12345-678");
-        endereco1.setCliente(cliente);
-
-        Endereco endereco2 = new Endereco();
-        endereco2.setId(2L);
-        endereco2.setRua("Rua B");
-        endereco2.setNumero("456");
-        endereco2.setBairro("Bairro B");
-        endereco2.setCidade("Rio de Janeiro");
-        endereco2.setEstado("RJ");
-        endereco2.setCep("87654-321");
-        endereco2.setCliente(cliente);
-
-        cliente.getEnderecos().add(endereco1);
-        cliente.getEnderecos().add(endereco2);
+        when(enderecoRepository.listarDoCliente(clienteId, 0L, Limit.of(21))).thenReturn(List.of(endereco1, endereco2));
 
-        when(clienteService.buscarPorId(clienteId)).thenReturn(cliente);
+        Pagina<EnderecoDTO> resultado = enderecoService.listarPorClienteId(clienteId, null, 20);
 
-        List<Endereco> resultado = enderecoService.listarPorClienteId(clienteId);
+        assertEquals(2, resultado.itens().size());
+        assertEquals("Rua A", resultado.itens().get(0).getRua());
+        assertEquals("12345-678", resultado.itens().get(0).getCep());
+        assertNull(resultado.proximo());
 
-        assertNotNull(resultado);
-        assertEquals(2, resultado.size());
-        assertEquals("Rua A", resultado.get(0).getRua());
-        assertEquals("Rua B", resultado.get(1).getRua());
+        // Uma única consulta projetada: nem o cliente nem a sua existência são consultados
+        verify(clienteService, never()).buscarPorId(anyLong());
+        verify(clienteService, never()).verificarExistencia(anyLong());
+    }
+
+    @Test
+    void listarEnderecosDoCliente_PaginaSeguinte() {
+        Long clienteId = 1L;
+        EnderecoDTO endereco1 = new EnderecoDTO(1L, "Rua A", "123", "Centro", "São Paulo", "SP", 12345678);
+        EnderecoDTO endereco2 = new EnderecoDTO(2L, "Rua B", "456", "Bairro B", "Rio de Janeiro", "RJ", 87654321);
+        EnderecoDTO endereco3 = new EnderecoDTO(3L, "Rua C", "789", "Bairro C", "Belo Horizonte", "MG", 11223344);
+
+        when(enderecoRepository.listarDoCliente(clienteId, 0L, Limit.of(3))).thenReturn(List.of(endereco1, endereco2, endereco3));
+        Pagina<EnderecoDTO> primeira = enderecoService.listarPorClienteId(clienteId, null, 2);
 
-        // Verifica que enderecoRepository.findByClienteId nunca foi chamado
-        verify(enderecoRepository, never()).findByClienteId(anyLong());
+        assertEquals(2, primeira.itens().size());
+        assertNotNull(primeira.proximo());
+
+        when(enderecoRepository.listarDoCliente(clienteId, 2L, Limit.of(3))).thenReturn(List.of(endereco3));
+        Pagina<EnderecoDTO> segunda = enderecoService.listarPorClienteId(clienteId, primeira.proximo(), 2);
+
+        assertEquals(List.of(endereco3), segunda.itens());
+        assertNull(segunda.proximo());
+    }
+
+    @Test
+    void listarEnderecosDoCliente_ClienteNaoEncontrado() {
+        Long clienteId = 9L;
+
+        when(enderecoRepository.listarDoCliente(clienteId, 0L, Limit.of(21))).thenReturn(List.of());
+        doThrow(new ResourceNotFoundException("Cliente não encontrado com o ID: 9")).when(clienteService).verificarExistencia(clienteId);
+
+        assertThrows(ResourceNotFoundException.class, () -> enderecoService.listarPorClienteId(clienteId, null, 20));
     }
 
     @Test
@@ -165,7 +220,7 @@ class EnderecoServiceTest {
         endereco.setBairro("Bairro B");
         endereco.setCidade("Rio de Janeiro");
         endereco.setEstado("RJ");
-        endereco.setCep("87654-321");
+        endereco.setCep(87654321);
 
         Endereco enderecoSalvo = new Endereco();
         enderecoSalvo.setId(2L);
@@ -174,11 +229,12 @@ class EnderecoServiceTest {
         enderecoSalvo.setBairro("Bairro B");
         enderecoSalvo.setCidade("Rio de Janeiro");
         enderecoSalvo.setEstado("RJ");
-        enderecoSalvo.setCep("87654-321");
+        enderecoSalvo.setCep(87654321);
         enderecoSalvo.setCliente(cliente);
 
         when(clienteService.buscarPorId(clienteId)).thenReturn(cliente);
         when(enderecoRepository.save(any(Endereco.class))).thenReturn(enderecoSalvo);
+        when(clienteService.incrementarVersao(clienteId)).thenReturn(3L);
 
         Endereco resultado = enderecoService.adicionar(clienteId, endereco);
 
@@ -186,6 +242,7 @@ class EnderecoServiceTest {
         assertEquals("Rua B", resultado.getRua());
         assertEquals("456", resultado.getNumero());
         verify(enderecoRepository, times(1)).save(any(Endereco.class));
+        verify(outboxService, times(1)).enderecoCriado(clienteId, 3L, enderecoSalvo);
     }
 
     @Test
@@ -197,7 +254,7 @@ class EnderecoServiceTest {
         endereco.setBairro("Bairro B");
         endereco.setCidade("Rio de Janeiro");
         endereco.setEstado("RJ");
-        endereco.setCep("87654-321");
+        endereco.setCep(87654321);
 
         when(clienteService.buscarPorId(clienteId))
                 .thenThrow(new ResourceNotFoundException("Cliente não encontrado com o ID: " + clienteId));
@@ -215,15 +272,16 @@ class EnderecoServiceTest {
         Long clienteId = 1L;
         Long enderecoId = 1L;
 
-        when(enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId)).thenReturn(true);
-        when(enderecoRepository.findById(enderecoId)).thenReturn(Optional.of(endereco));
-        doNothing().when(enderecoRepository).delete(endereco); // Serviço chama delete(endereco)
+        when(enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)).thenReturn(Optional.of(new Regiao("SP", "São Paulo")));
+        when(enderecoRepository.deletarDoCliente(enderecoId, clienteId)).thenReturn(1);
 
         enderecoService.deletar(clienteId, enderecoId);
 
-        verify(enderecoRepository, times(1)).existsByIdAndClienteId(enderecoId, clienteId);
-        verify(enderecoRepository, times(1)).findById(enderecoId);
-        verify(enderecoRepository, times(1)).delete(endereco); // Verifica que delete(endereco) foi chamado
+        verify(enderecoRepository, times(1)).deletarDoCliente(enderecoId, clienteId);
+        verify(enderecoRepository, never()).findById(anyLong());
+        verify(clienteService, times(1)).incrementarVersao(clienteId);
+        verify(estatisticaService, times(1)).enderecoRemovido(clienteId, new Regiao("SP", "São Paulo"));
+        verify(outboxService, times(1)).enderecoRemovido(eq(clienteId), eq(enderecoId), anyLong());
     }
 
     @Test
@@ -231,7 +289,7 @@ class EnderecoServiceTest {
         Long clienteId = 1L;
         Long enderecoId = 2L;
 
-        when(enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId)).thenReturn(false);
+        when(enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             enderecoService.deletar(clienteId, enderecoId);
@@ -239,9 +297,9 @@ class EnderecoServiceTest {
 
         assertEquals("Endereço com ID: 2 não pertence ao cliente com ID: 1", exception.getMessage());
 
-        verify(enderecoRepository, times(1)).existsByIdAndClienteId(enderecoId, clienteId);
-        verify(enderecoRepository, never()).findById(anyLong());
-        verify(enderecoRepository, never()).delete(any(Endereco.class));
+        verify(enderecoRepository, never()).deletarDoCliente(anyLong(), anyLong());
+        verify(clienteService, never()).incrementarVersao(anyLong());
+        verify(estatisticaService, never()).enderecoRemovido(anyLong(), any());
     }
 
     @Test
@@ -249,7 +307,7 @@ class EnderecoServiceTest {
         Long clienteId = 1L;
         Long enderecoId = 3L;
 
-        when(enderecoRepository.existsByIdAndClienteId(enderecoId, clienteId)).thenReturn(false);
+        when(enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             enderecoService.deletar(clienteId, enderecoId);
@@ -257,7 +315,7 @@ class EnderecoServiceTest {
 
         assertEquals("Endereço com ID: 3 não pertence ao cliente com ID: 1", exception.getMessage());
 
-        verify(enderecoRepository, times(1)).existsByIdAndClienteId(enderecoId, clienteId);
+        verify(enderecoRepository, never()).deletarDoCliente(anyLong(), anyLong());
         verify(enderecoRepository, never()).deleteById(anyLong());
         verify(enderecoRepository, never()).delete(any(Endereco.class));
     }
@@ -0,0 +1,189 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.dto.FaixaEtariaDTO;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.ContagemRegiao;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.Regiao;
+import br.com.ibmec.gerenciador_clientes.repository.ContagemRegiaoRepository;
+import br.com.ibmec.gerenciador_clientes.repository.EnderecoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstatisticaServiceTest {
+
+    @InjectMocks
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private ContagemRegiaoRepository contagemRegiaoRepository;
+
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Object[]> consulta;
+
+    // 15/06/2024
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    private static final Regiao SAO_PAULO = new Regiao("SP", "São Paulo");
+
+    @Test
+    void enderecoAdicionado_PrimeiroDoClienteNaRegiao() {
+        when(enderecoRepository.countByClienteIdAndEstadoAndCidade(1L, "SP", "São Paulo")).thenReturn(1L);
+        when(contagemRegiaoRepository.somar("SP", "São Paulo", 1, 1)).thenReturn(1);
+
+        estatisticaService.enderecoAdicionado(1L, SAO_PAULO);
+
+        verify(contagemRegiaoRepository).somar("SP", "São Paulo", 1, 1);
+        verify(contagemRegiaoRepository, never()).criarOuSomar(anyString(), anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void enderecoAdicionado_ClienteJaContadoNaRegiao() {
+        when(enderecoRepository.countByClienteIdAndEstadoAndCidade(1L, "SP", "São Paulo")).thenReturn(2L);
+        when(contagemRegiaoRepository.somar("SP", "São Paulo", 0, 1)).thenReturn(1);
+
+        estatisticaService.enderecoAdicionado(1L, SAO_PAULO);
+
+        verify(contagemRegiaoRepository).somar("SP", "São Paulo", 0, 1);
+    }
+
+    @Test
+    void enderecoRemovido_UltimoDoClienteNaRegiao() {
+        when(enderecoRepository.countByClienteIdAndEstadoAndCidade(1L, "SP", "São Paulo")).thenReturn(0L);
+        when(contagemRegiaoRepository.somar("SP", "São Paulo", -1, -1)).thenReturn(1);
+
+        estatisticaService.enderecoRemovido(1L, SAO_PAULO);
+
+        verify(contagemRegiaoRepository).somar("SP", "São Paulo", -1, -1);
+    }
+
+    @Test
+    void enderecoMovido_MesmaRegiao_NaoAlteraContagens() {
+        estatisticaService.enderecoMovido(1L, SAO_PAULO, new Regiao("SP", "São Paulo"));
+
+        verifyNoInteractions(contagemRegiaoRepository, enderecoRepository);
+    }
+
+    @Test
+    void regiaoNova_CriaContadorNaMesmaTransacao() {
+        when(enderecoRepository.countByClienteIdAndEstadoAndCidade(1L, "RJ", "Niterói")).thenReturn(1L);
+        when(contagemRegiaoRepository.somar("RJ", "Niterói", 1, 1)).thenReturn(0);
+
+        estatisticaService.enderecoAdicionado(1L, new Regiao("RJ", "Niterói"));
+
+        verify(contagemRegiaoRepository).criarOuSomar("RJ", "Niterói", 1, 1);
+        verify(contagemRegiaoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void clientesAdicionados_AgrupaPorRegiao() {
+        Cliente cliente = new Cliente();
+        cliente.setEnderecos(List.of(endereco("SP", "São Paulo"), endereco("SP", "São Paulo"), endereco("RJ", "Rio de Janeiro")));
+        Cliente outro = new Cliente();
+        outro.setEnderecos(List.of(endereco("SP", "São Paulo")));
+        when(contagemRegiaoRepository.somar(anyString(), anyString(), anyLong(), anyLong())).thenReturn(1);
+
+        estatisticaService.clientesAdicionados(List.of(cliente, outro, new Cliente()));
+
+        verify(contagemRegiaoRepository).somar("SP", "São Paulo", 2, 3);
+        verify(contagemRegiaoRepository).somar("RJ", "Rio de Janeiro", 1, 1);
+        verifyNoMoreInteractions(contagemRegiaoRepository);
+    }
+
+    @Test
+    void clienteRemovido_SubtraiContagensDoCliente() {
+        when(enderecoRepository.contarPorRegiaoDoCliente(1L))
+                .thenReturn(List.of(new ContagemRegiao("SP", "São Paulo", 1L, 2L)));
+        when(contagemRegiaoRepository.somar("SP", "São Paulo", -1, -2)).thenReturn(1);
+
+        estatisticaService.clienteRemovido(1L);
+
+        verify(contagemRegiaoRepository).somar("SP", "São Paulo", -1, -2);
+    }
+
+    @Test
+    void recalcular_AtualizaContagensNoLugar() {
+        when(enderecoRepository.contarPorRegiao()).thenReturn(List.of(
+                new ContagemRegiao("SP", "São Paulo", 3L, 4L), new ContagemRegiao("RJ", "Niterói", 1L, 1L)));
+        when(contagemRegiaoRepository.definir("SP", "São Paulo", 3L, 4L)).thenReturn(1);
+        when(contagemRegiaoRepository.definir("RJ", "Niterói", 1L, 1L)).thenReturn(0);
+
+        estatisticaService.recalcular();
+
+        // Zerar vem antes da consulta agregada: bloqueia os contadores enquanto os endereços são contados
+        var ordem = inOrder(contagemRegiaoRepository, enderecoRepository);
+        ordem.verify(contagemRegiaoRepository).zerar();
+        ordem.verify(enderecoRepository).contarPorRegiao();
+        ordem.verify(contagemRegiaoRepository).definir("SP", "São Paulo", 3L, 4L);
+        ordem.verify(contagemRegiaoRepository).criarOuSomar("RJ", "Niterói", 1L, 1L);
+        verify(contagemRegiaoRepository, never()).deleteAllInBatch();
+    }
+
+    @Test
+    void distribuicaoPorIdade_UmaConsultaComUmaSomaPorLimite() {
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(consulta);
+        // 10 clientes: 7 com 18 anos ou mais, 3 com 30 anos ou mais
+        when(consulta.getSingleResult()).thenReturn(new Object[]{10L, 7L, 3L});
+
+        List<FaixaEtariaDTO> faixas = estatisticaService.distribuicaoPorIdade(List.of(18, 30));
+
+        assertEquals(List.of(new FaixaEtariaDTO(0, 17, 3L), new FaixaEtariaDTO(18, 29, 4L), new FaixaEtariaDTO(30, null, 3L)), faixas);
+        verify(entityManager).createQuery(
+                "select count(c), sum(case when c.dataNascimento <= :nascidoAte0 then 1 else 0 end), "
+                        + "sum(case when c.dataNascimento <= :nascidoAte1 then 1 else 0 end) from Cliente c",
+                Object[].class);
+        verify(consulta).setParameter("nascidoAte0", LocalDate.of(2006, 6, 15));
+        verify(consulta).setParameter("nascidoAte1", LocalDate.of(1994, 6, 15));
+    }
+
+    @Test
+    void distribuicaoPorIdade_SemClientes() {
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(consulta);
+        when(consulta.getSingleResult()).thenReturn(new Object[]{0L, null});
+
+        List<FaixaEtariaDTO> faixas = estatisticaService.distribuicaoPorIdade(List.of(18));
+
+        assertEquals(List.of(new FaixaEtariaDTO(0, 17, 0L), new FaixaEtariaDTO(18, null, 0L)), faixas);
+    }
+
+    @Test
+    void distribuicaoPorIdade_LimitesInvalidos_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> estatisticaService.distribuicaoPorIdade(List.of()));
+        assertThrows(InvalidRequestException.class, () -> estatisticaService.distribuicaoPorIdade(List.of(30, 18)));
+        assertThrows(InvalidRequestException.class, () -> estatisticaService.distribuicaoPorIdade(List.of(0, 18)));
+        assertThrows(InvalidRequestException.class, () -> estatisticaService.distribuicaoPorIdade(List.of(18, Integer.MAX_VALUE)));
+        verifyNoInteractions(entityManager);
+    }
+
+    private static Endereco endereco(String estado, String cidade) {
+        Endereco endereco = new Endereco();
+        endereco.setEstado(estado);
+        endereco.setCidade(cidade);
+        return endereco;
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoClienteServiceTest {
+
+    @InjectMocks
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ClienteMapper clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Cliente cliente(Long id, String nome, int quantidadeEnderecos) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome(nome);
+        cliente.setEmail("cliente" + id + "@example.com");
+        cliente.setCpf(11111111110L + id);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        List<Endereco> enderecos = new ArrayList<>();
+        for (int i = 1; i <= quantidadeEnderecos; i++) {
+            enderecos.add(new Endereco(id * 10 + i, "Rua " + i, "10", "Centro", "São Paulo", "SP", 1001000, cliente));
+        }
+        cliente.setEnderecos(enderecos);
+        return cliente;
+    }
+
+    @Test
+    void exportarNdjson_UmClientePorLinha() throws Exception {
+        Cliente semEndereco = cliente(1L, "Ana", 0);
+        Cliente comEndereco = cliente(2L, "Bruno", 1);
+        when(clienteRepository.streamComEnderecos()).thenReturn(Stream.of(semEndereco, comEndereco));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoClienteService.exportarNdjson(saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals("Ana", objectMapper.readTree(linhas[0]).get("nome").asText());
+        assertEquals("Rua 1", objectMapper.readTree(linhas[1]).get("enderecos").get(0).get("rua").asText());
+        verify(entityManager).detach(semEndereco);
+        verify(entityManager).detach(comEndereco);
+    }
+
+    @Test
+    void exportarCsv_UmaLinhaPorEndereco() throws Exception {
+        Cliente semEndereco = cliente(1L, "Silva, Ana \"Aninha\"", 0);
+        Cliente comEnderecos = cliente(2L, "Bruno", 2);
+        when(clienteRepository.streamComEnderecos()).thenReturn(Stream.of(semEndereco, comEnderecos));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoClienteService.exportarCsv(saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, linhas.length);
+        assertEquals(ExportacaoClienteService.CABECALHO_CSV, linhas[0]);
+        assertEquals("1,\"Silva, Ana \"\"Aninha\"\"\",cliente1@example.com,111.111.111-11,,1990-01-01,,,,,,,", linhas[1]);
+        assertEquals("2,Bruno,cliente2@example.com,111.111.111-12,,1990-01-01,21,Rua 1,10,Centro,São Paulo,SP,01001-000", linhas[2]);
+        assertEquals("2,Bruno,cliente2@example.com,111.111.111-12,,1990-01-01,22,Rua 2,10,Centro,São Paulo,SP,01001-000", linhas[3]);
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ImportacaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ResultadoImportacaoDTO.Status;
+import br.com.ibmec.gerenciador_clientes.exception.InvalidRequestException;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.repository.ClienteRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoClienteServiceTest {
+
+    @InjectMocks
+    private ImportacaoClienteService importacaoClienteService;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private ClienteMapper clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ClienteDTO novoCliente(String email, String cpf) {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setNome("Cliente Lote");
+        clienteDTO.setEmail(email);
+        clienteDTO.setCpf(cpf);
+        clienteDTO.setDataNascimento(LocalDate.of(1990, 1, 1));
+        clienteDTO.setTelefone("(11) 91234-5678");
+        return clienteDTO;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarLote_ClassificaCadaRegistro() {
+        ClienteDTO valido = novoCliente("a@example.com", "111.111.111-11");
+        EnderecoDTO endereco = new EnderecoDTO();
+        endereco.setRua("Rua A");
+        endereco.setNumero("1");
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01001-000");
+        valido.setEnderecos(List.of(endereco));
+        ClienteDTO invalido = novoCliente("b@example.com", "222");
+        ClienteDTO emailCadastrado = novoCliente("c@example.com", "333.333.333-33");
+        ClienteDTO cpfRepetidoNoLote = novoCliente("d@example.com", "111.111.111-11");
+
+        when(clienteRepository.findEmailsCadastrados(anyCollection())).thenReturn(List.of("c@example.com"));
+        when(clienteRepository.findCpfsCadastrados(anyCollection())).thenReturn(Collections.emptyList());
+        when(clienteRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<Cliente> salvos = new ArrayList<>();
+            long id = 100;
+            for (Cliente cliente : (Iterable<Cliente>) invocation.getArgument(0)) {
+                cliente.setId(id++);
+                salvos.add(cliente);
+            }
+            return salvos;
+        });
+
+        ImportacaoDTO resultado = importacaoClienteService.importar(
+                List.of(valido, invalido, emailCadastrado, cpfRepetidoNoLote));
+
+        assertEquals(4, resultado.getTotal());
+        assertEquals(1, resultado.getCriados());
+        assertEquals(3, resultado.getRejeitados());
+        assertEquals(Status.CRIADO, resultado.getResultados().get(0).getStatus());
+        assertEquals(100L, resultado.getResultados().get(0).getId());
+        assertEquals(Status.INVALIDO, resultado.getResultados().get(1).getStatus());
+        assertTrue(resultado.getResultados().get(1).getErros().get(0).startsWith("cpf: "));
+        assertEquals(Status.DUPLICADO, resultado.getResultados().get(2).getStatus());
+        assertEquals(List.of("Email já cadastrado: c@example.com"), resultado.getResultados().get(2).getErros());
+        assertEquals(Status.DUPLICADO, resultado.getResultados().get(3).getStatus());
+        assertEquals(List.of("CPF já cadastrado: 111.111.111-11"), resultado.getResultados().get(3).getErros());
+
+        ArgumentCaptor<Iterable<Cliente>> salvos = ArgumentCaptor.forClass(Iterable.class);
+        verify(clienteRepository, times(1)).saveAllAndFlush(salvos.capture());
+        Cliente salvo = salvos.getValue().iterator().next();
+        assertSame(salvo, salvo.getEnderecos().get(0).getCliente());
+    }
+
+    @Test
+    void importarLote_EnderecoInvalido_RejeitaCliente() {
+        ClienteDTO clienteDTO = novoCliente("a@example.com", "111.111.111-11");
+        EnderecoDTO endereco = new EnderecoDTO();
+        clienteDTO.setEnderecos(List.of(endereco));
+
+        ImportacaoDTO resultado = importacaoClienteService.importar(List.of(clienteDTO));
+
+        assertEquals(0, resultado.getCriados());
+        assertEquals(Status.INVALIDO, resultado.getResultados().get(0).getStatus());
+        assertTrue(resultado.getResultados().get(0).getErros().stream().allMatch(erro -> erro.startsWith("enderecos[0].")));
+        verify(clienteRepository, never()).findEmailsCadastrados(anyCollection());
+    }
+
+    @Test
+    void importarLote_VazioOuGrandeDemais_ThrowsException() {
+        assertThrows(InvalidRequestException.class, () -> importacaoClienteService.importar(List.of()));
+
+        List<ClienteDTO> lote = Collections.nCopies(ImportacaoClienteService.TAMANHO_MAXIMO_LOTE + 1,
+                novoCliente("a@example.com", "111.111.111-11"));
+        assertThrows(InvalidRequestException.class, () -> importacaoClienteService.importar(lote));
+        verify(clienteRepository, never()).saveAllAndFlush(anyIterable());
+    }
+}
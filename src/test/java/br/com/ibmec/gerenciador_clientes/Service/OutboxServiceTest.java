@@ -0,0 +1,119 @@
+package br.com.ibmec.gerenciador_clientes.service;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapper;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapper;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import br.com.ibmec.gerenciador_clientes.model.TipoEvento;
+import br.com.ibmec.gerenciador_clientes.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    private static final Instant AGORA = Instant.parse("2024-06-15T12:00:00Z");
+
+    @InjectMocks
+    private OutboxService outboxService;
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private ClienteMapper clienteMapper;
+
+    @Mock
+    private EnderecoMapper enderecoMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private Clock clock = Clock.fixed(AGORA, ZoneOffset.UTC);
+
+    @Test
+    void clienteAtualizado_GravaEventoComVersaoERepresentacao() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setVersao(2L);
+        ClienteDTO dto = new ClienteDTO();
+        dto.setId(1L);
+        dto.setNome("João Silva");
+        when(clienteMapper.toDTO(cliente)).thenReturn(dto);
+
+        outboxService.clienteAtualizado(cliente);
+
+        ArgumentCaptor<EventoOutbox> evento = ArgumentCaptor.forClass(EventoOutbox.class);
+        verify(eventoOutboxRepository).save(evento.capture());
+        assertEquals(TipoEvento.CLIENTE_ATUALIZADO, evento.getValue().getTipo());
+        assertEquals(1L, evento.getValue().getClienteId());
+        assertEquals(2L, evento.getValue().getVersao());
+        assertEquals(AGORA, evento.getValue().getCriadoEm());
+        assertTrue(evento.getValue().getDados().contains("\"nome\":\"João Silva\""));
+    }
+
+    @Test
+    void enderecoRemovido_SemDados() {
+        outboxService.enderecoRemovido(1L, 5L, 3L);
+
+        ArgumentCaptor<EventoOutbox> evento = ArgumentCaptor.forClass(EventoOutbox.class);
+        verify(eventoOutboxRepository).save(evento.capture());
+        assertEquals(TipoEvento.ENDERECO_REMOVIDO, evento.getValue().getTipo());
+        assertEquals(5L, evento.getValue().getEnderecoId());
+        assertEquals(3L, evento.getValue().getVersao());
+        assertNull(evento.getValue().getDados());
+        verifyNoInteractions(enderecoMapper);
+    }
+
+    @Test
+    void enderecoCriado_UsaVersaoDoCliente() {
+        Endereco endereco = new Endereco();
+        endereco.setId(5L);
+        when(enderecoMapper.toDTO(endereco)).thenReturn(new EnderecoDTO());
+
+        outboxService.enderecoCriado(1L, 4L, endereco);
+
+        ArgumentCaptor<EventoOutbox> evento = ArgumentCaptor.forClass(EventoOutbox.class);
+        verify(eventoOutboxRepository).save(evento.capture());
+        assertEquals(TipoEvento.ENDERECO_CRIADO, evento.getValue().getTipo());
+        assertEquals(4L, evento.getValue().getVersao());
+        assertNotNull(evento.getValue().getDados());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void clientesCriados_UmSaveAllParaOLote() {
+        Cliente primeiro = new Cliente();
+        primeiro.setId(1L);
+        primeiro.setVersao(0L);
+        Cliente segundo = new Cliente();
+        segundo.setId(2L);
+        segundo.setVersao(0L);
+        when(clienteMapper.toDTO(any(Cliente.class))).thenReturn(new ClienteDTO());
+
+        outboxService.clientesCriados(List.of(primeiro, segundo));
+
+        ArgumentCaptor<List<EventoOutbox>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(eventoOutboxRepository).saveAll(eventos.capture());
+        assertEquals(List.of(1L, 2L), eventos.getValue().stream().map(EventoOutbox::getClienteId).toList());
+        verify(eventoOutboxRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.ibmec.gerenciador_clientes.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheComGeracaoTest {
+
+    private final ConcurrentMapCache alvo = new ConcurrentMapCache("clientes");
+    private final CacheComGeracao cache = new CacheComGeracao(alvo);
+
+    @Test
+    void faltaSeguidaDePut_Grava() {
+        assertNull(cache.get(1L));
+        cache.put(1L, "v1");
+
+        assertEquals("v1", alvo.get(1L).get());
+    }
+
+    @Test
+    void invalidacaoEntreALeituraEOPut_DescartaOValorAntigo() {
+        // A leitura carrega a versão 1 e, antes de gravar no cache, outra transação confirma a versão 2
+        assertNull(cache.get(1L));
+        cache.evict(1L);
+        cache.put(1L, "v1");
+
+        assertNull(alvo.get(1L));
+
+        // A leitura seguinte já vê a versão confirmada e grava normalmente
+        assertNull(cache.get(1L));
+        cache.put(1L, "v2");
+        assertEquals("v2", alvo.get(1L).get());
+    }
+
+    @Test
+    void invalidacaoDeOutraChave_NaoAfetaAGravacao() {
+        assertNull(cache.get(1L));
+        cache.evict(2L);
+        cache.put(1L, "v1");
+
+        assertEquals("v1", alvo.get(1L).get());
+    }
+
+    @Test
+    void putSemFaltaNaThread_NaoGrava() {
+        cache.put(1L, "v1");
+
+        assertNull(alvo.get(1L));
+    }
+}
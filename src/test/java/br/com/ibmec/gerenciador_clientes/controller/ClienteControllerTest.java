@@ -1,26 +1,46 @@
 package br.com.ibmec.gerenciador_clientes.controller;
 
+import br.com.ibmec.gerenciador_clientes.config.JacksonConfig;
+import br.com.ibmec.gerenciador_clientes.config.RelogioConfig;
 import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ConsultaClientesDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ImportacaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.ResultadoImportacaoDTO;
 import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
+import br.com.ibmec.gerenciador_clientes.exception.PreconditionFailedException;
 import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import br.com.ibmec.gerenciador_clientes.mapper.ClienteMapperImpl;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
 import br.com.ibmec.gerenciador_clientes.model.Cliente;
-import br.com.ibmec.gerenciador_clientes.config.ModelMapperConfig;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.service.ClienteService;
+import br.com.ibmec.gerenciador_clientes.service.ExportacaoClienteService;
+import br.com.ibmec.gerenciador_clientes.service.ImportacaoClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,7 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(ClienteController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import(ModelMapperConfig.class)
+@Import({ClienteMapperImpl.class, EnderecoMapperImpl.class, MergePatch.class, JacksonConfig.class, RelogioConfig.class})
 class ClienteControllerTest {
 
     @Autowired
@@ -38,6 +58,12 @@ class ClienteControllerTest {
     @MockBean
     private ClienteService clienteService;
 
+    @MockBean
+    private ImportacaoClienteService importacaoClienteService;
+
+    @MockBean
+    private ExportacaoClienteService exportacaoClienteService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,18 +73,162 @@ class ClienteControllerTest {
         cliente.setId(1L);
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@example.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf(12345678900L);
         cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
-        cliente.setTelefone("(11) 91234-5678");
+        cliente.setTelefone(11912345678L);
 
         // Mockando a resposta do serviço
-        when(clienteService.listarTodos()).thenReturn(Arrays.asList(cliente));
+        when(clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, null, null))
+                .thenReturn(new Pagina<>(Arrays.asList(cliente), null));
 
         // Realizando a requisição e verificando o resultado
         mockMvc.perform(get("/clientes"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nome", is("João Silva")))
-                .andExpect(jsonPath("$[0].email", is("joao.silva@example.com")));
+                .andExpect(jsonPath("$.itens[0].nome", is("João Silva")))
+                .andExpect(jsonPath("$.itens[0].email", is("joao.silva@example.com")))
+                .andExpect(jsonPath("$.proximo", nullValue()));
+    }
+
+    @Test
+    void listarTodosClientes_Cbor() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+        cliente.setCpf(12345678900L);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+
+        when(clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, null, null))
+                .thenReturn(new Pagina<>(Arrays.asList(cliente), null));
+
+        MvcResult resultado = mockMvc.perform(get("/clientes").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+
+        JsonNode pagina = new CBORMapper().readTree(resultado.getResponse().getContentAsByteArray());
+        assertEquals("João Silva", pagina.at("/itens/0/nome").asText());
+        assertEquals("123.456.789-00", pagina.at("/itens/0/cpf").asText());
+        assertEquals("1990-01-01", pagina.at("/itens/0/dataNascimento").asText());
+    }
+
+    @Test
+    void buscarClientesPorIds() throws Exception {
+        ClienteDTO cliente = new ClienteDTO();
+        cliente.setId(3L);
+        cliente.setNome("João Silva");
+        cliente.setCpf("123.456.789-00");
+
+        when(clienteService.buscarPorIds(List.of(3L, 99L)))
+                .thenReturn(new ConsultaClientesDTO(List.of(cliente), List.of(99L)));
+
+        mockMvc.perform(get("/clientes").param("ids", "3,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientes[0].id", is(3)))
+                .andExpect(jsonPath("$.clientes[0].cpf", is("123.456.789-00")))
+                .andExpect(jsonPath("$.naoEncontrados[0]", is(99)));
+
+        verify(clienteService, never()).listarTodos(any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void consultarClientesPorIds_NoCorpo() throws Exception {
+        when(clienteService.buscarPorIds(List.of(5L, 4L)))
+                .thenReturn(new ConsultaClientesDTO(List.of(), List.of(5L, 4L)));
+
+        mockMvc.perform(post("/clientes/consulta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[5, 4]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.naoEncontrados[1]", is(4)));
+    }
+
+    @Test
+    void listarTodosClientes_ComCursor() throws Exception {
+        when(clienteService.listarTodos("abc", "nome", Sort.Direction.DESC, 50, null, null))
+                .thenReturn(new Pagina<>(Arrays.asList(), "def"));
+
+        mockMvc.perform(get("/clientes")
+                        .param("cursor", "abc")
+                        .param("ordenarPor", "nome")
+                        .param("direcao", "desc")
+                        .param("tamanho", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.proximo", is("def")));
+    }
+
+    @Test
+    void listarTodosClientes_PorFaixaDeIdade() throws Exception {
+        when(clienteService.listarTodos(null, "dataNascimento", Sort.Direction.ASC, 20, 18, 30))
+                .thenReturn(new Pagina<>(Arrays.asList(), null));
+
+        mockMvc.perform(get("/clientes")
+                        .param("ordenarPor", "dataNascimento")
+                        .param("idadeMin", "18")
+                        .param("idadeMax", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()", is(0)));
+    }
+
+    @Test
+    void listarTodosClientes_IdadeAcimaDoMaximo_Retorna400() throws Exception {
+        // A validação do serviço é executada de fato: sem o limite, minusYears lançaria DateTimeException (500)
+        when(clienteService.listarTodos(null, "id", Sort.Direction.ASC, 20, null, Integer.MAX_VALUE))
+                .thenCallRealMethod();
+
+        mockMvc.perform(get("/clientes").param("idadeMax", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("A idade não pode ser maior que 150 anos.")));
+    }
+
+    @Test
+    void buscarClientesPorNome() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+        when(clienteService.buscarPorNome("joao", null, 20))
+                .thenReturn(new Pagina<>(Arrays.asList(cliente), "abc"));
+
+        mockMvc.perform(get("/clientes/search").param("q", "joao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome", is("João Silva")))
+                .andExpect(jsonPath("$.proximo", is("abc")));
+    }
+
+    @Test
+    void buscarClientePorCpf() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setCpf(12345678900L);
+        cliente.setTelefone(11912345678L);
+        when(clienteService.buscarPorCpf("12345678900")).thenReturn(cliente);
+
+        mockMvc.perform(get("/clientes/cpf/12345678900"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cpf", is("123.456.789-00")))
+                .andExpect(jsonPath("$.telefone", is("(11) 91234-5678")));
+    }
+
+    @Test
+    void buscarClientesPorTelefone() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setTelefone(11912345678L);
+        when(clienteService.buscarPorTelefone("11912345678")).thenReturn(List.of(cliente));
+
+        mockMvc.perform(get("/clientes/telefone/11912345678"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].telefone", is("(11) 91234-5678")));
+    }
+
+    @Test
+    void listarTodosClientes_DirecaoInvalida() throws Exception {
+        mockMvc.perform(get("/clientes").param("direcao", "para-cima"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.error", is("Bad Request")));
+
+        verify(clienteService, never()).listarTodos(any(), any(), any(), anyInt(), any(), any());
     }
 
     @Test
@@ -75,9 +245,9 @@ class ClienteControllerTest {
         clienteSalvo.setId(2L);
         clienteSalvo.setNome("Carlos Souza");
         clienteSalvo.setEmail("carlos.souza@example.com");
-        clienteSalvo.setCpf("321.654.987-00");
+        clienteSalvo.setCpf(32165498700L);
         clienteSalvo.setDataNascimento(LocalDate.of(1985, 7, 20));
-        clienteSalvo.setTelefone("(31) 98765-4321");
+        clienteSalvo.setTelefone(31987654321L);
 
         when(clienteService.adicionar(any(Cliente.class))).thenReturn(clienteSalvo);
 
@@ -91,6 +261,35 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.email", is("carlos.souza@example.com")));
     }
 
+    @Test
+    void adicionarCliente_Cbor() throws Exception {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setNome("Carlos Souza");
+        clienteDTO.setEmail("carlos.souza@example.com");
+        clienteDTO.setCpf("321.654.987-00");
+        clienteDTO.setDataNascimento(LocalDate.of(1985, 7, 20));
+
+        Cliente clienteSalvo = new Cliente();
+        clienteSalvo.setId(2L);
+        clienteSalvo.setNome("Carlos Souza");
+        clienteSalvo.setCpf(32165498700L);
+
+        when(clienteService.adicionar(any(Cliente.class))).thenReturn(clienteSalvo);
+
+        CBORMapper cbor = new CBORMapper();
+        MvcResult resultado = mockMvc.perform(post("/clientes")
+                        .contentType("application/cbor")
+                        .accept("application/cbor")
+                        .content(cbor.writeValueAsBytes(objectMapper.valueToTree(clienteDTO))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+
+        verify(clienteService).adicionar(argThat(c -> c.getCpf() == 32165498700L
+                && LocalDate.of(1985, 7, 20).equals(c.getDataNascimento())));
+        assertEquals(2, cbor.readTree(resultado.getResponse().getContentAsByteArray()).get("id").asInt());
+    }
+
     @Test
     void adicionarCliente_EmailDuplicado_ThrowsException() throws Exception {
         ClienteDTO clienteDTO = new ClienteDTO();
@@ -142,19 +341,36 @@ class ClienteControllerTest {
         cliente.setId(clienteId);
         cliente.setNome("Maria Oliveira");
         cliente.setEmail("maria.oliveira@example.com");
-        cliente.setCpf("987.654.321-00");
+        cliente.setCpf(98765432100L);
         cliente.setDataNascimento(LocalDate.of(1992, 5, 15));
-        cliente.setTelefone("(21) 99876-5432");
+        cliente.setTelefone(21998765432L);
+        cliente.setVersao(4L);
 
         when(clienteService.buscarPorId(clienteId)).thenReturn(cliente);
 
         mockMvc.perform(get("/clientes/{id}", clienteId))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
                 .andExpect(jsonPath("$.id", is(clienteId.intValue())))
                 .andExpect(jsonPath("$.nome", is("Maria Oliveira")))
                 .andExpect(jsonPath("$.email", is("maria.oliveira@example.com")));
     }
 
+    @Test
+    void buscarClientePorId_NaoModificado() throws Exception {
+        Long clienteId = 1L;
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        cliente.setVersao(4L);
+
+        when(clienteService.buscarPorId(clienteId)).thenReturn(cliente);
+
+        mockMvc.perform(get("/clientes/{id}", clienteId).header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void buscarClientePorId_NotFound() throws Exception {
         Long clienteId = 1L;
@@ -185,16 +401,19 @@ class ClienteControllerTest {
         clienteAtualizado.setId(clienteId);
         clienteAtualizado.setNome("João Pedro Silva");
         clienteAtualizado.setEmail("joao.pedro@example.com");
-        clienteAtualizado.setCpf("123.456.789-00");
+        clienteAtualizado.setCpf(12345678900L);
         clienteAtualizado.setDataNascimento(LocalDate.of(1990, 1, 1));
-        clienteAtualizado.setTelefone("(11) 91234-5678");
+        clienteAtualizado.setTelefone(11912345678L);
+        clienteAtualizado.setVersao(1L);
 
-        when(clienteService.atualizar(eq(clienteId), any(Cliente.class))).thenReturn(clienteAtualizado);
+        when(clienteService.atualizar(eq(clienteId), any(Cliente.class), eq(0L))).thenReturn(clienteAtualizado);
 
         mockMvc.perform(put("/clientes/{id}", clienteId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(clienteDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.id", is(clienteId.intValue())))
                 .andExpect(jsonPath("$.nome", is("João Pedro Silva")))
                 .andExpect(jsonPath("$.email", is("joao.pedro@example.com")));
@@ -210,10 +429,11 @@ class ClienteControllerTest {
         clienteDTO.setDataNascimento(LocalDate.of(1990, 1, 1));
         clienteDTO.setTelefone("(11) 91234-5678");
 
-        when(clienteService.atualizar(eq(clienteId), any(Cliente.class)))
+        when(clienteService.atualizar(eq(clienteId), any(Cliente.class), eq(0L)))
                 .thenThrow(new ResourceNotFoundException("Cliente não encontrado com o ID: " + clienteId));
 
         mockMvc.perform(put("/clientes/{id}", clienteId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(clienteDTO)))
                 .andExpect(status().isNotFound())
@@ -233,10 +453,11 @@ class ClienteControllerTest {
         clienteDTO.setDataNascimento(LocalDate.of(1990, 1, 1));
         clienteDTO.setTelefone("(11) 91234-5678");
 
-        when(clienteService.atualizar(eq(clienteId), any(Cliente.class)))
+        when(clienteService.atualizar(eq(clienteId), any(Cliente.class), eq(0L)))
                 .thenThrow(new DuplicateResourceException("Email já cadastrado: " + clienteDTO.getEmail()));
 
         mockMvc.perform(put("/clientes/{id}", clienteId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(clienteDTO)))
                 .andExpect(status().isConflict())
@@ -256,10 +477,11 @@ class ClienteControllerTest {
         clienteDTO.setDataNascimento(LocalDate.of(1990, 1, 1));
         clienteDTO.setTelefone("(11) 91234-5678");
 
-        when(clienteService.atualizar(eq(clienteId), any(Cliente.class)))
+        when(clienteService.atualizar(eq(clienteId), any(Cliente.class), eq(0L)))
                 .thenThrow(new DuplicateResourceException("CPF já cadastrado: " + clienteDTO.getCpf()));
 
         mockMvc.perform(put("/clientes/{id}", clienteId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(clienteDTO)))
                 .andExpect(status().isConflict())
@@ -269,6 +491,92 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.path", is("/clientes/" + clienteId)));
     }
 
+    @Test
+    void atualizarCliente_SemIfMatch_Retorna428() throws Exception {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setNome("João Pedro Silva");
+        clienteDTO.setEmail("joao.pedro@example.com");
+        clienteDTO.setCpf("123.456.789-00");
+        clienteDTO.setDataNascimento(LocalDate.of(1990, 1, 1));
+        clienteDTO.setTelefone("(11) 91234-5678");
+
+        mockMvc.perform(put("/clientes/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clienteDTO)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.status", is(428)))
+                .andExpect(jsonPath("$.error", is("Precondition Required")));
+
+        verify(clienteService, never()).atualizar(any(), any(), any());
+    }
+
+    @Test
+    void atualizarCliente_VersaoDesatualizada_Retorna412() throws Exception {
+        Long clienteId = 1L;
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setNome("João Pedro Silva");
+        clienteDTO.setEmail("joao.pedro@example.com");
+        clienteDTO.setCpf("123.456.789-00");
+        clienteDTO.setDataNascimento(LocalDate.of(1990, 1, 1));
+        clienteDTO.setTelefone("(11) 91234-5678");
+
+        when(clienteService.atualizar(eq(clienteId), any(Cliente.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("O cliente foi alterado por outra requisição; busque a versão atual e reenvie a alteração."));
+
+        mockMvc.perform(put("/clientes/{id}", clienteId)
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(clienteDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(412)))
+                .andExpect(jsonPath("$.error", is("Precondition Failed")));
+    }
+
+    @Test
+    void atualizarClienteParcial_Success() throws Exception {
+        Long clienteId = 1L;
+        Cliente clienteAtualizado = new Cliente();
+        clienteAtualizado.setId(clienteId);
+        clienteAtualizado.setNome("João Silva");
+        clienteAtualizado.setCpf(12345678900L);
+        clienteAtualizado.setTelefone(21998765432L);
+        clienteAtualizado.setVersao(2L);
+
+        when(clienteService.atualizarParcial(eq(clienteId), any(Cliente.class), eq(Set.of("telefone")), isNull()))
+                .thenReturn(clienteAtualizado);
+
+        mockMvc.perform(patch("/clientes/{id}", clienteId)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"telefone\": \"(21) 99876-5432\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.telefone", is("(21) 99876-5432")));
+
+        verify(clienteService).atualizarParcial(eq(clienteId),
+                argThat(alteracoes -> alteracoes.getTelefone() == 21998765432L && alteracoes.getNome() == null),
+                eq(Set.of("telefone")), isNull());
+    }
+
+    @Test
+    void atualizarClienteParcial_ValidaSomenteCamposEnviados() throws Exception {
+        mockMvc.perform(patch("/clientes/{id}", 1L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"email\": \"invalido\", \"nome\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("email: O email deve ser válido.; nome: O nome é obrigatório.")));
+
+        verify(clienteService, never()).atualizarParcial(any(), any(), any(), any());
+    }
+
+    @Test
+    void atualizarClienteParcial_CampoNaoPermitido() throws Exception {
+        mockMvc.perform(patch("/clientes/{id}", 1L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"enderecos\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("O campo não pode ser alterado por PATCH: enderecos")));
+    }
+
     @Test
     void removerCliente_Success() throws Exception {
         Long clienteId = 1L;
@@ -295,4 +603,57 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.message", is("Cliente não encontrado com o ID: " + clienteId)))
                 .andExpect(jsonPath("$.path", is("/clientes/" + clienteId)));
     }
+
+    @Test
+    void importarClientes_RetornaResultadoPorRegistro() throws Exception {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setNome("Carlos Souza");
+        clienteDTO.setEmail("carlos.souza@example.com");
+        clienteDTO.setCpf("321.654.987-00");
+        clienteDTO.setDataNascimento(LocalDate.of(1985, 7, 20));
+
+        ImportacaoDTO importacao = new ImportacaoDTO(2, 1, 1, List.of(
+                new ResultadoImportacaoDTO(0, ResultadoImportacaoDTO.Status.CRIADO, 10L, List.of()),
+                new ResultadoImportacaoDTO(1, ResultadoImportacaoDTO.Status.DUPLICADO, null,
+                        List.of("CPF já cadastrado: 321.654.987-00"))));
+        when(importacaoClienteService.importar(anyList())).thenReturn(importacao);
+
+        mockMvc.perform(post("/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(clienteDTO, clienteDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados", is(1)))
+                .andExpect(jsonPath("$.resultados[0].status", is("CRIADO")))
+                .andExpect(jsonPath("$.resultados[0].id", is(10)))
+                .andExpect(jsonPath("$.resultados[1].status", is("DUPLICADO")))
+                .andExpect(jsonPath("$.resultados[1].erros[0]", is("CPF já cadastrado: 321.654.987-00")));
+    }
+
+    @Test
+    void exportarClientes_Csv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("id,nome\r\n1,Carlos Souza\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportacaoClienteService).exportarCsv(any());
+
+        MvcResult resultado = mockMvc.perform(get("/clientes/exportacao").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"clientes.csv\""))
+                .andExpect(content().string("id,nome\r\n1,Carlos Souza\r\n"));
+    }
+
+    @Test
+    void exportarClientes_FormatoInvalido() throws Exception {
+        mockMvc.perform(get("/clientes/exportacao").param("formato", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Formato de exportação inválido: xml (use ndjson ou csv).")));
+
+        verifyNoInteractions(exportacaoClienteService);
+    }
 }
@@ -1,9 +1,11 @@
 package br.com.ibmec.gerenciador_clientes.controller;
 
-import br.com.ibmec.gerenciador_clientes.config.ModelMapperConfig;
+import br.com.ibmec.gerenciador_clientes.config.RelogioConfig;
 import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
 import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import br.com.ibmec.gerenciador_clientes.mapper.EnderecoMapperImpl;
 import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
 import br.com.ibmec.gerenciador_clientes.service.EnderecoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.eq;
@@ -26,7 +29,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(EnderecoController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import(ModelMapperConfig.class)
+@Import({EnderecoMapperImpl.class, MergePatch.class, RelogioConfig.class})
 public class EnderecoControllerTest {
 
     @Autowired
@@ -38,6 +41,34 @@ public class EnderecoControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Test
+    void atualizarEnderecoParcial_Success() throws Exception {
+        Endereco enderecoAtualizado = new Endereco();
+        enderecoAtualizado.setId(2L);
+        enderecoAtualizado.setRua("Rua B");
+        enderecoAtualizado.setCep(1001000);
+
+        when(enderecoService.atualizarParcial(eq(1L), eq(2L), ArgumentMatchers.any(Endereco.class), eq(Set.of("cep"))))
+                .thenReturn(enderecoAtualizado);
+
+        mockMvc.perform(patch("/clientes/{clienteId}/enderecos/{enderecoId}", 1L, 2L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"cep\": \"01001-000\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cep", is("01001-000")));
+    }
+
+    @Test
+    void atualizarEnderecoParcial_EstadoInvalido() throws Exception {
+        mockMvc.perform(patch("/clientes/{clienteId}/enderecos/{enderecoId}", 1L, 2L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"estado\": \"XX\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("estado: O estado deve ser uma UF válida.")));
+
+        verify(enderecoService, never()).atualizarParcial(any(), any(), any(), any());
+    }
+
     @Test
     void atualizarEnderecoPertenceAoCliente_Success() throws Exception {
         Long clienteId = 1L;
@@ -58,7 +89,7 @@ public class EnderecoControllerTest {
         enderecoAtualizado.setBairro("Bairro B");
         enderecoAtualizado.setCidade("Rio de Janeiro");
         enderecoAtualizado.setEstado("RJ");
-        enderecoAtualizado.setCep("87654-321");
+        enderecoAtualizado.setCep(87654321);
 
         // Usando ArgumentMatchers.any() do Mockito para evitar ambiguidade
         when(enderecoService.atualizar(eq(clienteId), eq(enderecoId), ArgumentMatchers.any(Endereco.class))).thenReturn(enderecoAtualizado);
@@ -105,32 +136,26 @@ public class EnderecoControllerTest {
     void listarEnderecosDoCliente_Success() throws Exception {
         Long clienteId = 1L;
 
-        Endereco endereco = new Endereco();
-        endereco.setId(1L);
-        endereco.setRua("Rua A");
-        endereco.setNumero("123");
-        endereco.setBairro("Centro");
-        endereco.setCidade("São Paulo");
-        endereco.setEstado("SP");
-        endereco.setCep("12345-678");
+        EnderecoDTO endereco = new EnderecoDTO(1L, "Rua A", "123", "Centro", "São Paulo", "SP", 12345678);
 
-        when(enderecoService.listarPorClienteId(clienteId)).thenReturn(Arrays.asList(endereco));
+        when(enderecoService.listarPorClienteId(clienteId, "abc", 5)).thenReturn(new Pagina<>(Arrays.asList(endereco), "def"));
 
-        mockMvc.perform(get("/clientes/{clienteId}/enderecos", clienteId))
+        mockMvc.perform(get("/clientes/{clienteId}/enderecos", clienteId).param("cursor", "abc").param("tamanho", "5"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].rua", is("Rua A")))
-                .andExpect(jsonPath("$[0].numero", is("123")))
-                .andExpect(jsonPath("$[0].bairro", is("Centro")))
-                .andExpect(jsonPath("$[0].cidade", is("São Paulo")))
-                .andExpect(jsonPath("$[0].estado", is("SP")))
-                .andExpect(jsonPath("$[0].cep", is("12345-678")));
+                .andExpect(jsonPath("$.itens[0].rua", is("Rua A")))
+                .andExpect(jsonPath("$.itens[0].numero", is("123")))
+                .andExpect(jsonPath("$.itens[0].bairro", is("Centro")))
+                .andExpect(jsonPath("$.itens[0].cidade", is("São Paulo")))
+                .andExpect(jsonPath("$.itens[0].estado", is("SP")))
+                .andExpect(jsonPath("$.itens[0].cep", is("12345-678")))
+                .andExpect(jsonPath("$.proximo", is("def")));
     }
 
     @Test
     void listarEnderecosDoCliente_NotFound() throws Exception {
         Long clienteId = 1L;
 
-        when(enderecoService.listarPorClienteId(clienteId))
+        when(enderecoService.listarPorClienteId(clienteId, null, 20))
                 .thenThrow(new ResourceNotFoundException("Cliente não encontrado com o ID: " + clienteId));
 
         mockMvc.perform(get("/clientes/{clienteId}/enderecos", clienteId))
@@ -159,7 +184,7 @@ public class EnderecoControllerTest {
         enderecoSalvo.setBairro("Bairro B");
         enderecoSalvo.setCidade("Rio de Janeiro");
         enderecoSalvo.setEstado("RJ");
-        enderecoSalvo.setCep("87654-321");
+        enderecoSalvo.setCep(87654321);
         enderecoSalvo.setCliente(null); // Evite referências circulares
 
         when(enderecoService.adicionar(eq(clienteId), ArgumentMatchers.any(Endereco.class))).thenReturn(enderecoSalvo);
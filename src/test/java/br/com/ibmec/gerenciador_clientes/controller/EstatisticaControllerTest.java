@@ -0,0 +1,60 @@
+package br.com.ibmec.gerenciador_clientes.controller;
+
+import br.com.ibmec.gerenciador_clientes.config.RelogioConfig;
+import br.com.ibmec.gerenciador_clientes.dto.ContagemRegiaoDTO;
+import br.com.ibmec.gerenciador_clientes.dto.FaixaEtariaDTO;
+import br.com.ibmec.gerenciador_clientes.service.EstatisticaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EstatisticaController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(RelogioConfig.class)
+class EstatisticaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EstatisticaService estatisticaService;
+
+    @Test
+    void contarPorRegiao_FiltraPorEstado() throws Exception {
+        when(estatisticaService.listarPorRegiao("SP"))
+                .thenReturn(List.of(new ContagemRegiaoDTO("SP", "Campinas", 2L, 3L), new ContagemRegiaoDTO("SP", "São Paulo", 5L, 7L)));
+
+        mockMvc.perform(get("/estatisticas/regioes").param("estado", "sp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].cidade", is("São Paulo")))
+                .andExpect(jsonPath("$[1].clientes", is(5)))
+                .andExpect(jsonPath("$[1].enderecos", is(7)));
+    }
+
+    @Test
+    void distribuicaoPorIdade_ComLimites() throws Exception {
+        when(estatisticaService.distribuicaoPorIdade(List.of(18, 30)))
+                .thenReturn(List.of(new FaixaEtariaDTO(0, 17, 0L), new FaixaEtariaDTO(18, 29, 4L), new FaixaEtariaDTO(30, null, 6L)));
+
+        mockMvc.perform(get("/estatisticas/idades").param("limites", "18,30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[1].idadeMinima", is(18)))
+                .andExpect(jsonPath("$[1].idadeMaxima", is(29)))
+                .andExpect(jsonPath("$[1].clientes", is(4)))
+                .andExpect(jsonPath("$[2].idadeMaxima", nullValue()));
+    }
+}
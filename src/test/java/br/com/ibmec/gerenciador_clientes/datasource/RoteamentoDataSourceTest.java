@@ -0,0 +1,146 @@
+package br.com.ibmec.gerenciador_clientes.datasource;
+
+import br.com.ibmec.gerenciador_clientes.config.ReplicasConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dois bancos H2 em memória, cada um com uma tabela que identifica a origem da leitura
+class RoteamentoDataSourceTest {
+
+    private RoteamentoDataSource roteamento;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", banco("replica_1"));
+        usar(replicas);
+    }
+
+    private void usar(Map<String, DataSource> replicas) {
+        roteamento = new RoteamentoDataSource(banco("primario"), replicas);
+        DataSource dataSource = new ReplicasConfig().dataSource(roteamento);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        escrita = new TransactionTemplate(transactionManager);
+    }
+
+    private static DataSource inexistente() {
+        return new DriverManagerDataSource("jdbc:h2:mem:inexistente;IFEXISTS=TRUE", "sa", "");
+    }
+
+    private static DataSource banco(String nome) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origem (nome varchar(20))");
+        jdbc.execute("delete from origem");
+        jdbc.update("insert into origem values (?)", nome);
+        return dataSource;
+    }
+
+    private String origem(TransactionTemplate transacao) {
+        return transacao.execute(status -> jdbcTemplate.queryForObject("select nome from origem", String.class));
+    }
+
+    @Test
+    void leituraVaiParaReplicaEEscritaParaPrimario() {
+        assertEquals("replica_1", origem(leitura));
+        assertEquals("primario", origem(escrita));
+    }
+
+    @Test
+    void replicaSemResposta_SaiDoRodizio() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", banco("replica_1"));
+        replicas.put("replica-2", inexistente());
+        usar(replicas);
+
+        roteamento.verificarReplicas();
+
+        assertEquals(List.of("replica-1"), roteamento.getDisponiveis());
+        assertEquals("replica_1", origem(leitura));
+        assertEquals("replica_1", origem(leitura));
+    }
+
+    @Test
+    void semReplicasDisponiveis_LeDoPrimario() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", inexistente());
+        usar(replicas);
+
+        roteamento.verificarReplicas();
+
+        assertTrue(roteamento.getDisponiveis().isEmpty());
+        assertEquals("primario", origem(leitura));
+    }
+
+    @Test
+    void clienteAlteradoRecentemente_LeDoPrimario() {
+        JanelaLeituraPropria janela = new JanelaLeituraPropria(true, Duration.ofMinutes(1));
+        escrita.executeWithoutResult(status -> janela.registrarEscrita(1L));
+
+        String doAlterado = leitura.execute(status -> {
+            janela.lerDoPrimarioSeAlterado(1L);
+            return jdbcTemplate.queryForObject("select nome from origem", String.class);
+        });
+        String deOutroCliente = leitura.execute(status -> {
+            janela.lerDoPrimarioSeAlterado(2L);
+            return jdbcTemplate.queryForObject("select nome from origem", String.class);
+        });
+
+        assertEquals("primario", doAlterado);
+        assertEquals("replica_1", deOutroCliente);
+        assertFalse(JanelaLeituraPropria.primarioForcado());
+    }
+
+    @Test
+    void consultaDeVariosClientes_LeDoPrimarioSeAlgumFoiAlterado() {
+        JanelaLeituraPropria janela = new JanelaLeituraPropria(true, Duration.ofMinutes(1));
+        escrita.executeWithoutResult(status -> janela.registrarEscrita(2L));
+
+        String comAlterado = leitura.execute(status -> {
+            janela.lerDoPrimarioSeAlgumAlterado(List.of(1L, 2L, 3L));
+            return jdbcTemplate.queryForObject("select nome from origem", String.class);
+        });
+        String semAlterado = leitura.execute(status -> {
+            janela.lerDoPrimarioSeAlgumAlterado(List.of(1L, 3L));
+            return jdbcTemplate.queryForObject("select nome from origem", String.class);
+        });
+
+        assertEquals("primario", comAlterado);
+        assertEquals("replica_1", semAlterado);
+        assertFalse(JanelaLeituraPropria.primarioForcado());
+    }
+
+    @Test
+    void escritaDesfeita_NaoAbreJanela() {
+        JanelaLeituraPropria janela = new JanelaLeituraPropria(true, Duration.ofMinutes(1));
+        escrita.executeWithoutResult(status -> {
+            janela.registrarEscrita(1L);
+            status.setRollbackOnly();
+        });
+
+        String origem = leitura.execute(status -> {
+            janela.lerDoPrimarioSeAlterado(1L);
+            return jdbcTemplate.queryForObject("select nome from origem", String.class);
+        });
+
+        assertEquals("replica_1", origem);
+    }
+}
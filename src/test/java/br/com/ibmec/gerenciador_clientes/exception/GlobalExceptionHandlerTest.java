@@ -0,0 +1,57 @@
+package br.com.ibmec.gerenciador_clientes.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(
+            Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC));
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clientes/42");
+
+    @Test
+    void naoEncontrado_CorpoDoErro() {
+        ResponseEntity<ApiError> resposta = handler.handleResourceNotFound(
+                new ResourceNotFoundException("Cliente não encontrado com o ID: 42"), request);
+
+        assertEquals(404, resposta.getStatusCode().value());
+        ApiError error = resposta.getBody();
+        assertNotNull(error);
+        assertEquals(404, error.getStatus());
+        assertEquals("Resource Not Found", error.getError());
+        assertEquals("Cliente não encontrado com o ID: 42", error.getMessage());
+        assertEquals("/clientes/42", error.getPath());
+        assertEquals("15-06-2024 12:00:00", error.getTimestamp());
+    }
+
+    @Test
+    void errosEsperados_SemStackTrace() {
+        assertEquals(0, new ResourceNotFoundException("x").getStackTrace().length);
+        assertEquals(0, new DuplicateResourceException("x").getStackTrace().length);
+    }
+
+    @Test
+    void errosEsperados_ContadosPorTipo() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        handler.bindTo(registry);
+
+        handler.handleResourceNotFound(new ResourceNotFoundException("a"), request);
+        handler.handleResourceNotFound(new ResourceNotFoundException("b"), request);
+        handler.handleDuplicateResource(new DuplicateResourceException("c"), request);
+        handler.handleInvalidRequest(new InvalidRequestException("d"), request);
+
+        assertEquals(2, registry.get(GlobalExceptionHandler.METRICA_ERROS_ESPERADOS)
+                .tag("tipo", "nao_encontrado").functionCounter().count());
+        assertEquals(1, registry.get(GlobalExceptionHandler.METRICA_ERROS_ESPERADOS)
+                .tag("tipo", "duplicado").functionCounter().count());
+    }
+}
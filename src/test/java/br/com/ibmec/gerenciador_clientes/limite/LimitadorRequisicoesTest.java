@@ -0,0 +1,105 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorRequisicoesTest {
+
+    private final AtomicLong agora = new AtomicLong(-5_000_000_000L);
+
+    private LimitadorRequisicoes limitador(LimiteRequisicoesProperties properties) {
+        return new LimitadorRequisicoes(properties, agora::get);
+    }
+
+    private static LimiteRequisicoesProperties properties() {
+        LimiteRequisicoesProperties properties = new LimiteRequisicoesProperties();
+        properties.setListagem(new LimiteRequisicoesProperties.Taxa(3, 1));
+        properties.setEscrita(new LimiteRequisicoesProperties.Taxa(1, 0.5));
+        return properties;
+    }
+
+    @Test
+    void admitir_RajadaAteACapacidadeEDepoisEspera() {
+        LimitadorRequisicoes limitador = limitador(properties());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.admitir("ip:1", ClasseEndpoint.LISTAGEM));
+        }
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limitador.admitir("ip:1", ClasseEndpoint.LISTAGEM));
+
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+        assertEquals(0, limitador.admitir("ip:1", ClasseEndpoint.LISTAGEM));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limitador.admitir("ip:1", ClasseEndpoint.LISTAGEM));
+    }
+
+    @Test
+    void admitir_BaldesSeparadosPorChamadorEClasse() {
+        LimitadorRequisicoes limitador = limitador(properties());
+
+        assertEquals(0, limitador.admitir("ip:1", ClasseEndpoint.ESCRITA));
+        assertEquals(TimeUnit.SECONDS.toNanos(2), limitador.admitir("ip:1", ClasseEndpoint.ESCRITA));
+        assertEquals(0, limitador.admitir("ip:1", ClasseEndpoint.LISTAGEM));
+        assertEquals(0, limitador.admitir("ip:2", ClasseEndpoint.ESCRITA));
+    }
+
+    @Test
+    void admitir_QuantidadeDeChamadoresLimitada() {
+        LimiteRequisicoesProperties properties = properties();
+        properties.setMaximoChamadores(100);
+        LimitadorRequisicoes limitador = limitador(properties);
+
+        for (int i = 0; i < 10_000; i++) {
+            limitador.admitir("ip:" + i, ClasseEndpoint.LEITURA);
+        }
+
+        assertTrue(limitador.chamadoresAcompanhados() <= 100);
+    }
+
+    @Test
+    void admitir_TaxaInvalida() {
+        LimiteRequisicoesProperties properties = properties();
+        properties.setLeitura(new LimiteRequisicoesProperties.Taxa(0, 10));
+
+        assertThrows(IllegalArgumentException.class, () -> limitador(properties));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void estado_BaldesComMenosTokensPrimeiroEChavesMascaradas() {
+        LimitadorRequisicoes limitador = limitador(properties());
+        limitador.admitir("ip:1", ClasseEndpoint.LISTAGEM);
+        limitador.admitir("chave:abcdefgh", ClasseEndpoint.ESCRITA);
+        limitador.admitir("chave:abcdefgh", ClasseEndpoint.ESCRITA);
+
+        Map<String, Object> estado = limitador.estado();
+
+        List<Map<String, Object>> baldes = (List<Map<String, Object>>) estado.get("baldes");
+        assertEquals("chave:abcd…", baldes.get(0).get("chamador"));
+        assertEquals(0.0, baldes.get(0).get("escrita"));
+        assertEquals("ip:1", baldes.get(1).get("chamador"));
+        assertEquals(2.0, baldes.get(1).get("listagem"));
+        assertEquals(1L, ((Map<ClasseEndpoint, Long>) estado.get("rejeitadas")).get(ClasseEndpoint.ESCRITA));
+    }
+
+    @Test
+    void classeEndpoint_PorMetodoECaminho() {
+        assertEquals(ClasseEndpoint.LISTAGEM, ClasseEndpoint.de("GET", "/clientes"));
+        assertEquals(ClasseEndpoint.LISTAGEM, ClasseEndpoint.de("GET", "/clientes/search"));
+        assertEquals(ClasseEndpoint.LISTAGEM, ClasseEndpoint.de("GET", "/clientes/1/enderecos"));
+        assertEquals(ClasseEndpoint.LISTAGEM, ClasseEndpoint.de("GET", "/estatisticas/regioes"));
+        assertEquals(ClasseEndpoint.LEITURA, ClasseEndpoint.de("GET", "/clientes/42"));
+        assertEquals(ClasseEndpoint.LEITURA, ClasseEndpoint.de("GET", "/clientes/42/"));
+        assertEquals(ClasseEndpoint.LEITURA, ClasseEndpoint.de("GET", "/clientes/1/enderecos/7"));
+        assertEquals(ClasseEndpoint.LEITURA, ClasseEndpoint.de("GET", "/clientes/cpf/123.456.789-00"));
+        assertEquals(ClasseEndpoint.LEITURA, ClasseEndpoint.de("HEAD", "/clientes/telefone/11912345678"));
+        assertEquals(ClasseEndpoint.LISTAGEM, ClasseEndpoint.de("POST", "/clientes/consulta"));
+        assertEquals(ClasseEndpoint.ESCRITA, ClasseEndpoint.de("POST", "/clientes"));
+        assertEquals(ClasseEndpoint.ESCRITA, ClasseEndpoint.de("DELETE", "/clientes/42"));
+    }
+}
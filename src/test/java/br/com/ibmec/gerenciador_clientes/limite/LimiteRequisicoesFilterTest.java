@@ -0,0 +1,102 @@
+package br.com.ibmec.gerenciador_clientes.limite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong agora = new AtomicLong();
+    private final LimiteRequisicoesFilter filter;
+
+    LimiteRequisicoesFilterTest() {
+        LimiteRequisicoesProperties properties = new LimiteRequisicoesProperties();
+        properties.setListagem(new LimiteRequisicoesProperties.Taxa(1, 0.25));
+        filter = new LimiteRequisicoesFilter(new LimitadorRequisicoes(properties, agora::get),
+                List.of(new MappingJackson2HttpMessageConverter(objectMapper), new MappingJackson2CborHttpMessageConverter()),
+                "X-API-Key", Set.of("integracao-a", "integracao-b"),
+                Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest listagem(String ip, String chave) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clientes");
+        request.setRemoteAddr(ip);
+        if (chave != null) {
+            request.addHeader("X-API-Key", chave);
+        }
+        return request;
+    }
+
+    @Test
+    void semToken_Responde429ComRetryAfter() throws Exception {
+        assertEquals(200, executar(listagem("10.0.0.1", null)).getStatus());
+
+        MockHttpServletResponse response = executar(listagem("10.0.0.1", null));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("4", response.getHeader("Retry-After"));
+        assertEquals("application/json", response.getContentType());
+        JsonNode corpo = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals(429, corpo.get("status").asInt());
+        assertEquals("/clientes", corpo.get("path").asText());
+        assertEquals("15-06-2024 12:00:00", corpo.get("timestamp").asText());
+    }
+
+    @Test
+    void erroNoFormatoNegociado() throws Exception {
+        executar(listagem("10.0.0.1", null));
+        MockHttpServletRequest cbor = listagem("10.0.0.1", null);
+        cbor.addHeader("Accept", "application/cbor");
+        MockHttpServletRequest semConversor = listagem("10.0.0.1", null);
+        semConversor.addHeader("Accept", "text/html");
+
+        MockHttpServletResponse emCbor = executar(cbor);
+        MockHttpServletResponse emJson = executar(semConversor);
+
+        assertEquals(429, emCbor.getStatus());
+        assertEquals("application/cbor", emCbor.getContentType());
+        assertEquals(429, new CBORMapper().readTree(emCbor.getContentAsByteArray()).get("status").asInt());
+        // Nenhum conversor escreve text/html: o erro vai em JSON
+        assertEquals("application/json", emJson.getContentType());
+        assertEquals(429, objectMapper.readTree(emJson.getContentAsByteArray()).get("status").asInt());
+    }
+
+    @Test
+    void chaveDeApi_TemBaldeProprio() throws Exception {
+        assertEquals(200, executar(listagem("10.0.0.1", "integracao-a")).getStatus());
+        assertEquals(200, executar(listagem("10.0.0.1", "integracao-b")).getStatus());
+        assertEquals(200, executar(listagem("10.0.0.1", null)).getStatus());
+        assertEquals(429, executar(listagem("10.0.0.2", "integracao-a")).getStatus());
+    }
+
+    @Test
+    void chaveDesconhecida_ContaNoBaldeDoIp() throws Exception {
+        assertEquals(200, executar(listagem("10.0.0.1", "inventada-1")).getStatus());
+        // Trocar de chave não dá um balde novo
+        assertEquals(429, executar(listagem("10.0.0.1", "inventada-2")).getStatus());
+        assertEquals(429, executar(listagem("10.0.0.1", null)).getStatus());
+        assertEquals(200, executar(listagem("10.0.0.1", "integracao-a")).getStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.ibmec.gerenciador_clientes.mapper;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.pagination.Pagina;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClienteJsonSerializerTest {
+
+    private final ClienteMapper clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper objectMapperStreaming = Jackson2ObjectMapperBuilder.json()
+            .serializers(new ClienteJsonSerializer())
+            .build();
+
+    @Test
+    void serializar_MesmoJsonQueClienteDTO() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João \"Silva\"");
+        cliente.setEmail("joao.silva@example.com");
+        cliente.setCpf(12345678900L);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setTelefone(11912345678L);
+        List<Endereco> enderecos = new ArrayList<>();
+        enderecos.add(new Endereco(10L, "Rua A", "123", "Centro", "São Paulo", "SP", 12345678, cliente));
+        enderecos.add(new Endereco(11L, "Rua B", null, null, "Rio de Janeiro", "RJ", null, cliente));
+        cliente.setEnderecos(enderecos);
+
+        Pagina<Cliente> pagina = new Pagina<>(List.of(cliente), "cursor");
+
+        assertEquals(objectMapper.writeValueAsString(pagina.map(clienteMapper::toDTO)),
+                objectMapperStreaming.writeValueAsString(pagina));
+    }
+
+    // Todos os campos do ClienteDTO e do EnderecoDTO preenchidos: um campo novo nos DTOs falha aqui até ser
+    // populado no cliente abaixo, e a comparação então acusa se o ClienteJsonSerializer não o escreve igual
+    @Test
+    void serializar_ClienteCompleto_CobreTodosOsCamposDoDTO() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setId(7L);
+        cliente.setNome("Ana Souza");
+        cliente.setNomeNormalizado("ana souza");
+        cliente.setEmail("ana@example.com");
+        cliente.setCpf(98765432100L);
+        cliente.setDataNascimento(LocalDate.of(1985, 12, 31));
+        cliente.setTelefone(2134567890L);
+        cliente.setVersao(3L);
+        cliente.setEnderecos(List.of(new Endereco(70L, "Rua das Flores", "10A", "Centro", "Niterói", "RJ", 24020000, cliente)));
+
+        ClienteDTO dto = clienteMapper.toDTO(cliente);
+        assertSemNulos("", objectMapper.valueToTree(dto));
+
+        assertEquals(objectMapper.writeValueAsString(dto), objectMapperStreaming.writeValueAsString(cliente));
+    }
+
+    private static void assertSemNulos(String caminho, JsonNode no) {
+        assertFalse(no.isNull(), "Campo sem valor no cliente de teste: " + caminho);
+        no.fields().forEachRemaining(campo -> assertSemNulos(caminho + "/" + campo.getKey(), campo.getValue()));
+        for (int i = 0; i < no.size() && no.isArray(); i++) {
+            assertSemNulos(caminho + "/" + i, no.get(i));
+        }
+    }
+
+    @Test
+    void serializar_CamposNulos() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Maria");
+
+        assertEquals(objectMapper.writeValueAsString(clienteMapper.toDTO(cliente)),
+                objectMapperStreaming.writeValueAsString(cliente));
+    }
+
+    @Test
+    void serializar_DocumentosComZerosAEsquerda() throws Exception {
+        Cliente cliente = new Cliente();
+        cliente.setCpf(1234567890L);
+        cliente.setTelefone(1134567890L);
+        cliente.setEnderecos(List.of(new Endereco(1L, "Rua A", "1", "Centro", "São Paulo", "SP", 1001000, cliente)));
+
+        String json = objectMapperStreaming.writeValueAsString(cliente);
+
+        assertTrue(json.contains("\"cpf\":\"012.345.678-90\""), json);
+        assertTrue(json.contains("\"telefone\":\"(11) 3456-7890\""), json);
+        assertTrue(json.contains("\"cep\":\"01001-000\""), json);
+        assertEquals(objectMapper.writeValueAsString(clienteMapper.toDTO(cliente)), json);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.ibmec.gerenciador_clientes.mapper;
+
+import br.com.ibmec.gerenciador_clientes.dto.ClienteDTO;
+import br.com.ibmec.gerenciador_clientes.dto.EnderecoDTO;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClienteMapperTest {
+
+    private final ClienteMapper clienteMapper = new ClienteMapperImpl(new EnderecoMapperImpl());
+
+    @Test
+    void converterClienteParaDTO_ComEnderecos() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João Silva");
+        cliente.setEmail("joao.silva@example.com");
+        cliente.setCpf(12345678900L);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setTelefone(11912345678L);
+        Endereco endereco = new Endereco(10L, "Rua A", "123", "Centro", "São Paulo", "SP", 12345678, cliente);
+        cliente.setEnderecos(List.of(endereco));
+
+        ClienteDTO dto = clienteMapper.toDTO(cliente);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("João Silva", dto.getNome());
+        assertEquals("123.456.789-00", dto.getCpf());
+        assertEquals(LocalDate.of(1990, 1, 1), dto.getDataNascimento());
+        assertEquals(1, dto.getEnderecos().size());
+        assertEquals(10L, dto.getEnderecos().get(0).getId());
+        assertEquals("12345-678", dto.getEnderecos().get(0).getCep());
+    }
+
+    @Test
+    void converterDTOParaCliente_VinculaEnderecos() {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setRua("Rua A");
+        enderecoDTO.setCidade("São Paulo");
+        ClienteDTO dto = new ClienteDTO();
+        dto.setNome("João Silva");
+        dto.setEnderecos(List.of(enderecoDTO));
+
+        Cliente cliente = clienteMapper.toEntity(dto);
+
+        assertEquals("João Silva", cliente.getNome());
+        assertEquals(1, cliente.getEnderecos().size());
+        assertSame(cliente, cliente.getEnderecos().get(0).getCliente());
+        assertEquals("Rua A", cliente.getEnderecos().get(0).getRua());
+    }
+
+    @Test
+    void converterDTOParaCliente_DocumentosNumericos() {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setCep("01001000");
+        ClienteDTO dto = new ClienteDTO();
+        dto.setCpf("012.345.678-90");
+        dto.setTelefone("(11) 3123-4567");
+        dto.setEnderecos(List.of(enderecoDTO));
+
+        Cliente cliente = clienteMapper.toEntity(dto);
+
+        assertEquals(1234567890L, cliente.getCpf());
+        assertEquals(1131234567L, cliente.getTelefone());
+        assertEquals(1001000, cliente.getEnderecos().get(0).getCep());
+
+        ClienteDTO formatado = clienteMapper.toDTO(cliente);
+        assertEquals("012.345.678-90", formatado.getCpf());
+        assertEquals("(11) 3123-4567", formatado.getTelefone());
+        assertEquals("01001-000", formatado.getEnderecos().get(0).getCep());
+    }
+
+    @Test
+    void converterNulo_RetornaNulo() {
+        assertNull(clienteMapper.toDTO(null));
+        assertNull(clienteMapper.toEntity(null));
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.ibmec.gerenciador_clientes.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContadorSqlInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContadorSqlInterceptor interceptor = new ContadorSqlInterceptor(registry);
+    private final ContadorSql contadorSql = new ContadorSql();
+
+    @Test
+    void registraComandosPorRota() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clientes/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/clientes/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        contadorSql.inspect("select * from cliente where id=?");
+        contadorSql.inspect("select * from endereco where cliente_id=?");
+        interceptor.afterCompletion(request, response, null, null);
+
+        DistributionSummary resumo = registry.get(ContadorSqlInterceptor.METRICA)
+                .tag("method", "GET")
+                .tag("uri", "/clientes/{id}")
+                .summary();
+        assertEquals(1, resumo.count());
+        assertEquals(2, resumo.totalAmount());
+    }
+
+    @Test
+    void naoContaForaDeRequisicao() {
+        assertEquals("select 1", contadorSql.inspect("select 1"));
+        assertEquals(-1, ContadorSql.finalizar());
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.ibmec.gerenciador_clientes.metrics;
+
+import br.com.ibmec.gerenciador_clientes.exception.DuplicateResourceException;
+import br.com.ibmec.gerenciador_clientes.exception.ResourceNotFoundException;
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.service.ClienteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MetricasServicoAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private ClienteService alvo;
+    private ClienteService clienteService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        alvo = mock(ClienteService.class);
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasServicoAspect(registry));
+        clienteService = fabrica.getProxy();
+    }
+
+    private long contagem(String metodo, String resultado) {
+        return registry.get(MetricasServicoAspect.METRICA)
+                .tag("classe", "ClienteService")
+                .tag("metodo", metodo)
+                .tag("resultado", resultado)
+                .timer()
+                .count();
+    }
+
+    @Test
+    void medir_TagueiaPorResultado() {
+        when(alvo.buscarPorId(1L)).thenReturn(new Cliente());
+        when(alvo.buscarPorId(2L)).thenThrow(new ResourceNotFoundException("Cliente não encontrado com ID: 2"));
+        when(alvo.adicionar(any())).thenThrow(new DuplicateResourceException("Email já cadastrado: a@example.com"));
+
+        clienteService.buscarPorId(1L);
+        clienteService.buscarPorId(1L);
+        assertThrows(ResourceNotFoundException.class, () -> clienteService.buscarPorId(2L));
+        assertThrows(DuplicateResourceException.class, () -> clienteService.adicionar(new Cliente()));
+
+        assertEquals(2, contagem("buscarPorId", "sucesso"));
+        assertEquals(1, contagem("buscarPorId", "nao_encontrado"));
+        assertEquals(1, contagem("adicionar", "duplicado"));
+    }
+
+    @Test
+    void medir_ErroInesperado() {
+        doThrow(new IllegalStateException("falha")).when(alvo).deletar(1L);
+
+        assertThrows(IllegalStateException.class, () -> clienteService.deletar(1L));
+
+        assertEquals(1, contagem("deletar", "erro"));
+    }
+}
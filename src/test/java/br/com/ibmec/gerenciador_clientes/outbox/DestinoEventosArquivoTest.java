@@ -0,0 +1,55 @@
+package br.com.ibmec.gerenciador_clientes.outbox;
+
+import br.com.ibmec.gerenciador_clientes.dto.EventoDTO;
+import br.com.ibmec.gerenciador_clientes.model.TipoEvento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DestinoEventosArquivoTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void acrescentaUmEventoPorLinha() throws Exception {
+        Path arquivo = diretorio.resolve("eventos.ndjson");
+        DestinoEventosArquivo destino = new DestinoEventosArquivo(arquivo, new ObjectMapper().findAndRegisterModules(), 1024 * 1024, 2);
+        Instant criadoEm = Instant.parse("2024-06-15T12:00:00Z");
+
+        destino.publicar(List.of(new EventoDTO(1L, TipoEvento.CLIENTE_CRIADO, 10L, null, 0L, criadoEm, "{\"id\":10}")));
+        destino.publicar(List.of(new EventoDTO(2L, TipoEvento.CLIENTE_REMOVIDO, 10L, null, 1L, criadoEm, null)));
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(2, linhas.size());
+        assertTrue(linhas.get(0).contains("\"tipo\":\"CLIENTE_CRIADO\""));
+        // Os dados entram como JSON, não como texto
+        assertTrue(linhas.get(0).contains("\"dados\":{\"id\":10}"));
+        assertTrue(linhas.get(1).contains("\"versao\":1"));
+    }
+
+    @Test
+    void rotacionaAoAtingirOTamanhoMaximo_GuardandoOsMaisRecentes() throws Exception {
+        Path arquivo = diretorio.resolve("eventos.ndjson");
+        // Cada lote tem pouco mais de 100 bytes: cabe um lote por arquivo
+        DestinoEventosArquivo destino = new DestinoEventosArquivo(arquivo, new ObjectMapper().findAndRegisterModules(), 150, 2);
+        Instant criadoEm = Instant.parse("2024-06-15T12:00:00Z");
+
+        for (long versao = 0; versao < 4; versao++) {
+            destino.publicar(List.of(new EventoDTO(versao + 1, TipoEvento.CLIENTE_ATUALIZADO, 10L, null, versao, criadoEm, null)));
+        }
+
+        assertTrue(Files.readString(arquivo).contains("\"versao\":3"));
+        assertTrue(Files.readString(diretorio.resolve("eventos.ndjson.1")).contains("\"versao\":2"));
+        assertTrue(Files.readString(diretorio.resolve("eventos.ndjson.2")).contains("\"versao\":1"));
+        // O mais antigo foi descartado
+        assertFalse(Files.exists(diretorio.resolve("eventos.ndjson.3")));
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.ibmec.gerenciador_clientes.outbox;
+
+import br.com.ibmec.gerenciador_clientes.dto.EventoDTO;
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import br.com.ibmec.gerenciador_clientes.model.TipoEvento;
+import br.com.ibmec.gerenciador_clientes.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelayOutboxTest {
+
+    private static final Instant AGORA = Instant.parse("2024-06-15T12:00:00Z");
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final DestinoEventosMemoria destino = new DestinoEventosMemoria();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RelayOutbox relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new RelayOutbox(eventoOutboxRepository, destino, transactionManager, registry,
+                Clock.fixed(AGORA, ZoneOffset.UTC), 2);
+    }
+
+    private static EventoOutbox evento(long id, long clienteId, long versao) {
+        EventoOutbox evento = new EventoOutbox(TipoEvento.CLIENTE_ATUALIZADO, clienteId, null, versao, "{}",
+                AGORA.minusSeconds(3));
+        evento.setId(id);
+        return evento;
+    }
+
+    @Test
+    void drenar_PublicaEmLotesNaOrdemERemove() {
+        when(eventoOutboxRepository.findByOrderByClienteIdAscVersaoAsc(Limit.of(2)))
+                .thenReturn(List.of(evento(1, 10, 1), evento(2, 10, 2)))
+                .thenReturn(List.of(evento(3, 20, 0)));
+
+        relay.drenar();
+
+        assertEquals(List.of(1L, 2L, 3L), destino.getEventos().stream().map(EventoDTO::getId).toList());
+        verify(eventoOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(eventoOutboxRepository).deleteAllByIdInBatch(List.of(3L));
+        // O último lote veio incompleto: não há nova consulta
+        verify(eventoOutboxRepository, times(2)).findByOrderByClienteIdAscVersaoAsc(any());
+
+        Timer entrega = registry.get(RelayOutbox.METRICA_ENTREGA).timer();
+        assertEquals(3, entrega.count());
+        assertEquals(3.0, entrega.max(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    void drenar_FalhaNoDestino_MantemEventos() throws Exception {
+        DestinoEventos destinoComFalha = mock(DestinoEventos.class);
+        doThrow(new IOException("disco cheio")).when(destinoComFalha).publicar(anyList());
+        relay = new RelayOutbox(eventoOutboxRepository, destinoComFalha, transactionManager, registry,
+                Clock.fixed(AGORA, ZoneOffset.UTC), 2);
+        when(eventoOutboxRepository.findByOrderByClienteIdAscVersaoAsc(Limit.of(2))).thenReturn(List.of(evento(1, 10, 1), evento(2, 10, 2)));
+
+        relay.drenar();
+
+        verify(eventoOutboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(eventoOutboxRepository, times(1)).findByOrderByClienteIdAscVersaoAsc(any());
+        assertEquals(1.0, registry.get(RelayOutbox.METRICA_FALHAS).counter().count());
+    }
+
+    @Test
+    void metricasDeAtraso() {
+        when(eventoOutboxRepository.count()).thenReturn(5L);
+        when(eventoOutboxRepository.findCriadoEmMaisAntigo()).thenReturn(Optional.of(AGORA.minusSeconds(90)));
+
+        assertEquals(5.0, registry.get(RelayOutbox.METRICA_PENDENTES).gauge().value());
+        assertEquals(90.0, registry.get(RelayOutbox.METRICA_ATRASO).gauge().value());
+    }
+}
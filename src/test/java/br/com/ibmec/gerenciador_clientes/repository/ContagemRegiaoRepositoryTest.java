@@ -0,0 +1,120 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+import br.com.ibmec.gerenciador_clientes.model.ContagemRegiao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContagemRegiaoRepositoryTest {
+
+    @Autowired
+    private ContagemRegiaoRepository contagemRegiaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpar() {
+        contagemRegiaoRepository.deleteAllInBatch();
+    }
+
+    private ContagemRegiao unica() {
+        List<ContagemRegiao> contagens = contagemRegiaoRepository.findAll();
+        assertEquals(1, contagens.size());
+        return contagens.get(0);
+    }
+
+    @Test
+    void criarOuSomar_CriaERepeteComoIncremento() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> contagemRegiaoRepository.criarOuSomar("RJ", "Niterói", 1, 2));
+        transacao.executeWithoutResult(status -> contagemRegiaoRepository.criarOuSomar("RJ", "Niterói", 1, 1));
+
+        ContagemRegiao contagem = unica();
+        assertEquals(2L, contagem.getClientes());
+        assertEquals(3L, contagem.getEnderecos());
+    }
+
+    @Test
+    void criarOuSomar_IdDoMesmoGeradorDoPersist() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> contagemRegiaoRepository.criarOuSomar("RJ", "Niterói", 1, 1));
+        contagemRegiaoRepository.save(new ContagemRegiao("SP", "Campinas", 1L, 1L));
+        transacao.executeWithoutResult(status -> contagemRegiaoRepository.criarOuSomar("MG", "Uberlândia", 1, 1));
+
+        List<ContagemRegiao> contagens = contagemRegiaoRepository.findAll();
+        assertEquals(3, contagens.size());
+        assertEquals(3, contagens.stream().map(ContagemRegiao::getId).distinct().count());
+    }
+
+    @Test
+    void criarOuSomar_CriacaoConcorrente_NaoPerdeIncrementoNemFalha() throws Exception {
+        CountDownLatch criado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    contagemRegiaoRepository.criarOuSomar("RJ", "Niterói", 1, 1);
+                    criado.countDown();
+                    try {
+                        confirmar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(criado.await(5, TimeUnit.SECONDS));
+        // A segunda transação fica parada no INSERT até a primeira confirmar a linha que criou, e então soma nela
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(confirmar::countDown);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                contagemRegiaoRepository.criarOuSomar("RJ", "Niterói", 1, 1));
+        primeira.get(5, TimeUnit.SECONDS);
+
+        ContagemRegiao contagem = unica();
+        assertEquals(2L, contagem.getClientes());
+        assertEquals(2L, contagem.getEnderecos());
+    }
+
+    @Test
+    void zerar_EsperaAsTransacoesQueJaIncrementaram() throws Exception {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> contagemRegiaoRepository.criarOuSomar("SP", "Campinas", 1, 1));
+
+        CountDownLatch incrementado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Void> escrita = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+            contagemRegiaoRepository.somar("SP", "Campinas", 1, 1);
+            incrementado.countDown();
+            try {
+                confirmar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(incrementado.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> recalculo = CompletableFuture.supplyAsync(() ->
+                transacao.execute(status -> contagemRegiaoRepository.zerar()));
+        Thread.sleep(200);
+        // O recálculo não passa do zerar enquanto a escrita não confirma
+        assertFalse(recalculo.isDone());
+
+        confirmar.countDown();
+        escrita.get(5, TimeUnit.SECONDS);
+        assertEquals(1, recalculo.get(5, TimeUnit.SECONDS));
+        assertEquals(0L, unica().getEnderecos());
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+import br.com.ibmec.gerenciador_clientes.model.Cliente;
+import br.com.ibmec.gerenciador_clientes.model.Endereco;
+import br.com.ibmec.gerenciador_clientes.model.Regiao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EnderecoRepositoryTest {
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+    private Long clienteId;
+    private Long outroClienteId;
+    private Long enderecoId;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        Cliente cliente = clienteRepository.save(cliente("Ana Souza", 12345678900L));
+        outroClienteId = clienteRepository.save(cliente("Bruno Lima", 98765432100L)).getId();
+        clienteId = cliente.getId();
+        enderecoId = enderecoRepository.save(endereco(cliente, "Campinas", "SP")).getId();
+    }
+
+    @AfterEach
+    void limpar() {
+        enderecoRepository.deleteAllInBatch();
+        clienteRepository.deleteAllInBatch();
+    }
+
+    private static Cliente cliente(String nome, long cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setEmail(cpf + "@email.com");
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        return cliente;
+    }
+
+    private static Endereco endereco(Cliente cliente, String cidade, String estado) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua das Flores");
+        endereco.setNumero("10");
+        endereco.setBairro("Centro");
+        endereco.setCidade(cidade);
+        endereco.setEstado(estado);
+        endereco.setCep(13000000);
+        endereco.setCliente(cliente);
+        return endereco;
+    }
+
+    @Test
+    void atualizarDoCliente_SomenteDoDono() {
+        Endereco novo = endereco(null, "Niterói", "RJ");
+
+        int deOutro = transacao.execute(status -> enderecoRepository.atualizarDoCliente(enderecoId, outroClienteId, novo));
+        int doDono = transacao.execute(status -> enderecoRepository.atualizarDoCliente(enderecoId, clienteId, novo));
+
+        assertEquals(0, deOutro);
+        assertEquals(1, doDono);
+        assertEquals(Optional.of(new Regiao("RJ", "Niterói")),
+                transacao.execute(status -> enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)));
+    }
+
+    @Test
+    void deletarDoCliente_SomenteDoDono() {
+        int deOutro = transacao.execute(status -> enderecoRepository.deletarDoCliente(enderecoId, outroClienteId));
+        int inexistente = transacao.execute(status -> enderecoRepository.deletarDoCliente(enderecoId + 1000, clienteId));
+        int doDono = transacao.execute(status -> enderecoRepository.deletarDoCliente(enderecoId, clienteId));
+
+        assertEquals(0, deOutro);
+        assertEquals(0, inexistente);
+        assertEquals(1, doDono);
+        assertFalse(enderecoRepository.existsById(enderecoId));
+    }
+
+    @Test
+    void findRegiaoDoCliente_VerificaODono() {
+        assertEquals(Optional.of(new Regiao("SP", "Campinas")),
+                transacao.execute(status -> enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)));
+        assertTrue(transacao.execute(status -> enderecoRepository.findRegiaoDoCliente(enderecoId, outroClienteId))
+                .isEmpty());
+    }
+
+    @Test
+    void findRegiaoDoCliente_EsperaAAlteracaoEmAndamento() throws Exception {
+        CountDownLatch lido = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+            enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId);
+            enderecoRepository.atualizarDoCliente(enderecoId, clienteId, endereco(null, "Niterói", "RJ"));
+            lido.countDown();
+            try {
+                confirmar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(lido.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Optional<Regiao>> segunda = CompletableFuture.supplyAsync(() ->
+                transacao.execute(status -> enderecoRepository.findRegiaoDoCliente(enderecoId, clienteId)));
+        Thread.sleep(200);
+        // A segunda leitura fica parada na linha bloqueada e só vê a região depois da confirmação
+        assertFalse(segunda.isDone());
+
+        confirmar.countDown();
+        primeira.get(5, TimeUnit.SECONDS);
+        assertEquals(Optional.of(new Regiao("RJ", "Niterói")), segunda.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.ibmec.gerenciador_clientes.repository;
+
+import br.com.ibmec.gerenciador_clientes.model.EventoOutbox;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EventoOutboxRepositoryTest {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Simula duas instâncias, com blocos de sequência 1-50 e 51-100, alternando gravações de dois clientes
+    private void gravar(long id, long clienteId, long versao) {
+        jdbcTemplate.update("insert into evento_outbox (id, tipo, cliente_id, versao, criado_em) values (?, ?, ?, ?, ?)",
+                id, "CLIENTE_ATUALIZADO", clienteId, versao, Timestamp.from(Instant.parse("2024-06-15T12:00:00Z")));
+    }
+
+    private static List<String> clienteEVersao(List<EventoOutbox> eventos) {
+        return eventos.stream().map(evento -> evento.getClienteId() + ":" + evento.getVersao()).toList();
+    }
+
+    @Test
+    void lote_SegueAVersaoDeCadaClienteENaoOId() {
+        gravar(51, 10, 1);  // instância B
+        gravar(1, 20, 1);   // instância A
+        gravar(2, 10, 2);   // instância A: versão posterior do cliente 10 com id menor
+        gravar(52, 20, 2);  // instância B
+        gravar(3, 20, 3);   // instância A
+
+        List<EventoOutbox> lote = eventoOutboxRepository.findByOrderByClienteIdAscVersaoAsc(Limit.of(10));
+
+        assertEquals(List.of("10:1", "10:2", "20:1", "20:2", "20:3"), clienteEVersao(lote));
+    }
+
+    @Test
+    void loteIncompleto_NaoPulaVersoes() {
+        gravar(60, 10, 1);
+        gravar(4, 10, 2);
+        gravar(5, 20, 1);
+        gravar(61, 10, 3);
+
+        List<EventoOutbox> primeiro = eventoOutboxRepository.findByOrderByClienteIdAscVersaoAsc(Limit.of(2));
+        assertEquals(List.of("10:1", "10:2"), clienteEVersao(primeiro));
+
+        eventoOutboxRepository.deleteAllByIdInBatch(primeiro.stream().map(EventoOutbox::getId).toList());
+        List<EventoOutbox> segundo = eventoOutboxRepository.findByOrderByClienteIdAscVersaoAsc(Limit.of(2));
+        assertEquals(List.of("10:3", "20:1"), clienteEVersao(segundo));
+    }
+}